@@ -1,17 +1,28 @@
 package com.bank.core.config;
 
 import com.bank.core.domain.LoyaltyRule;
+import com.bank.core.domain.Scorecard;
 import com.bank.core.domain.SystemParameter;
 import com.bank.core.domain.User;
+import com.bank.core.domain.enums.SystemParameterKey;
+import com.bank.core.dto.ScorecardDefinition;
 import com.bank.core.repository.LoyaltyRuleRepository;
+import com.bank.core.repository.ScorecardRepository;
 import com.bank.core.repository.SystemParameterRepository;
 import com.bank.core.repository.UserRepository;
+import com.bank.core.service.LoyaltyRuleIndex;
+import com.bank.core.service.ScorecardRegistry;
+import com.bank.core.service.SystemParameterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
@@ -21,6 +32,10 @@ public class DataInitializer implements CommandLineRunner {
     private final LoyaltyRuleRepository loyaltyRuleRepository;
     private final SystemParameterRepository systemParameterRepository;
     private final PasswordEncoder passwordEncoder;
+    private final LoyaltyRuleIndex loyaltyRuleIndex;
+    private final SystemParameterRegistry parameterRegistry;
+    private final ScorecardRepository scorecardRepository;
+    private final ScorecardRegistry scorecardRegistry;
 
     @Override
     public void run(String... args) {
@@ -33,22 +48,41 @@ public class DataInitializer implements CommandLineRunner {
             userRepository.save(admin);
         }
 
-        createRuleIfMissing("5411", "Супермаркеты", "0.01", false);
-        createRuleIfMissing("5541", "АЗС", "0.05", false);
-        createRuleIfMissing("7997", "Партнеры (Спорт)", "0.00", true);
+        Set<String> existingMcc = loyaltyRuleRepository.findAll().stream()
+                .map(LoyaltyRule::getMccCode)
+                .collect(Collectors.toSet());
+        List<LoyaltyRule> missingRules = new ArrayList<>();
+        addRuleIfMissing(missingRules, existingMcc, "5411", "Супермаркеты", "0.01", false);
+        addRuleIfMissing(missingRules, existingMcc, "5541", "АЗС", "0.05", false);
+        addRuleIfMissing(missingRules, existingMcc, "7997", "Партнеры (Спорт)", "0.00", true);
+        loyaltyRuleRepository.saveAll(missingRules);
+        loyaltyRuleIndex.refresh();
 
-        createParamIfMissing("BPM", "400", "Бюджет прожиточного минимума (BYN)");
-        createParamIfMissing("POINTS_RATE", "10", "Курс конвертации баллов (Баллов за 1 BYN)");
+        for (SystemParameterKey key : SystemParameterKey.values()) {
+            createParamIfMissing(key.name(), key.getDefaultValue(), key.getDescription());
+        }
+        parameterRegistry.refresh();
+
+        if (scorecardRepository.count() == 0) {
+            Scorecard scorecard = new Scorecard();
+            scorecard.setVersion(1L);
+            scorecard.setActive(true);
+            scorecard.setDefinition(scorecardRegistry.serialize(ScorecardDefinition.defaults()));
+            scorecard.setDescription("Базовая скоринговая карта");
+            scorecardRepository.save(scorecard);
+        }
+        scorecardRegistry.refresh();
     }
 
-    private void createRuleIfMissing(String mcc, String category, String rate, boolean isBonus) {
-        if (loyaltyRuleRepository.findByMccCode(mcc).isEmpty()) {
+    private void addRuleIfMissing(List<LoyaltyRule> missingRules, Set<String> existingMcc,
+                                  String mcc, String category, String rate, boolean isBonus) {
+        if (!existingMcc.contains(mcc)) {
             LoyaltyRule rule = new LoyaltyRule();
             rule.setMccCode(mcc);
             rule.setCategoryName(category);
             rule.setCashbackRate(new BigDecimal(rate));
             rule.setIsBonusPoints(isBonus);
-            loyaltyRuleRepository.save(rule);
+            missingRules.add(rule);
         }
     }
 
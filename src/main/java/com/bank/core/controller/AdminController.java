@@ -1,20 +1,39 @@
 package com.bank.core.controller;
 
 import com.bank.core.domain.*;
+import com.bank.core.domain.enums.ApplicationStatus;
 import com.bank.core.dto.AuthDTOs;
 import com.bank.core.dto.CreditApplicationDTO;
-import com.bank.core.repository.SystemParameterRepository;
+import com.bank.core.dto.CursorPageDTO;
+import com.bank.core.dto.ScorecardDefinition;
+import com.bank.core.dto.ScoringSimulationRequestDTO;
+import com.bank.core.dto.ScoringSimulationResultDTO;
 import com.bank.core.service.AdminService;
+import com.bank.core.service.ApplicationIntakeQueue;
+import com.bank.core.service.ApplicationExportService;
+import com.bank.core.service.ClientDirectoryIndex;
+import com.bank.core.service.ClientDashboardReadModel;
+import com.bank.core.service.LoanScheduleRegenerationService;
+import com.bank.core.service.LoyaltyOutboxWorker;
+import com.bank.core.service.PasswordHashingService;
+import com.bank.core.service.PortfolioRescoringService;
+import com.bank.core.service.ScoringSimulationService;
+import com.bank.core.service.LoyaltyRuleIndex;
+import com.bank.core.service.SystemParameterRegistry;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 import java.util.stream.Collectors;
 
 @RestController
@@ -23,12 +42,26 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "*")
 public class AdminController {
 
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
     private final AdminService adminService;
-    private final SystemParameterRepository systemParameterRepository;
+    private final ApplicationExportService applicationExportService;
+    private final ApplicationIntakeQueue applicationIntakeQueue;
+    private final LoyaltyOutboxWorker loyaltyOutboxWorker;
+    private final LoyaltyRuleIndex loyaltyRuleIndex;
+    private final SystemParameterRegistry parameterRegistry;
+    private final ClientDashboardReadModel dashboardReadModel;
+    private final PasswordHashingService passwordHashing;
+    private final ClientDirectoryIndex clientDirectoryIndex;
+    private final PortfolioRescoringService portfolioRescoring;
+    private final ScoringSimulationService scoringSimulation;
+    private final LoanScheduleRegenerationService loanScheduleRegeneration;
 
     @GetMapping("/users")
-    public ResponseEntity<List<AuthDTOs.UserDTO>> getAllUsers() {
-        return ResponseEntity.ok(adminService.getAllUsers());
+    public ResponseEntity<CursorPageDTO<AuthDTOs.UserDTO>> getUsers(@RequestParam(required = false) String q,
+                                                                   @RequestParam(required = false) String cursor,
+                                                                   @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(adminService.getUsers(q, cursor, size));
     }
 
     @PostMapping("/users/{id}/approve")
@@ -87,14 +120,91 @@ public class AdminController {
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping("/loyalty/outbox/stats")
+    public ResponseEntity<Map<String, Object>> getLoyaltyOutboxStats() {
+        return ResponseEntity.ok(loyaltyOutboxWorker.getStats());
+    }
+
+    @GetMapping("/applications/intake/stats")
+    public ResponseEntity<Map<String, Object>> getApplicationIntakeStats() {
+        return ResponseEntity.ok(applicationIntakeQueue.getStats());
+    }
+
+    @GetMapping("/loyalty/index/stats")
+    public ResponseEntity<Map<String, Object>> getLoyaltyIndexStats() {
+        return ResponseEntity.ok(loyaltyRuleIndex.getStats());
+    }
+
+    @PostMapping("/scoring/rescore")
+    public ResponseEntity<Map<String, Object>> startRescoring() {
+        return ResponseEntity.accepted().body(portfolioRescoring.start());
+    }
+
+    @GetMapping("/scoring/rescore")
+    public ResponseEntity<Map<String, Object>> getRescoringStatus() {
+        return ResponseEntity.ok(portfolioRescoring.getStatus());
+    }
+
+    @PostMapping("/loans/schedules/regenerate")
+    public ResponseEntity<Map<String, Object>> regenerateLoanSchedules() {
+        return ResponseEntity.accepted().body(loanScheduleRegeneration.start());
+    }
+
+    @GetMapping("/loans/schedules/regenerate")
+    public ResponseEntity<Map<String, Object>> getLoanScheduleRegenerationStatus() {
+        return ResponseEntity.ok(loanScheduleRegeneration.getStatus());
+    }
+
+    @GetMapping("/dashboard/read-model/stats")
+    public ResponseEntity<Map<String, Object>> getDashboardReadModelStats() {
+        return ResponseEntity.ok(dashboardReadModel.getStats());
+    }
+
+    @GetMapping("/security/password-hashing/stats")
+    public ResponseEntity<Map<String, Object>> getPasswordHashingStats() {
+        return ResponseEntity.ok(passwordHashing.getStats());
+    }
+
+    @GetMapping("/clients/index/stats")
+    public ResponseEntity<Map<String, Object>> getClientIndexStats() {
+        return ResponseEntity.ok(clientDirectoryIndex.getStats());
+    }
+
+    @PostMapping("/scoring/simulate")
+    public ResponseEntity<ScoringSimulationResultDTO> simulateScoring(@RequestBody ScoringSimulationRequestDTO request,
+                                                                      @RequestParam(defaultValue = "false") boolean refresh) {
+        return ResponseEntity.ok(scoringSimulation.simulate(request, refresh));
+    }
+
+    @GetMapping("/scorecards")
+    public ResponseEntity<List<Scorecard>> getScorecards() {
+        return ResponseEntity.ok(adminService.getScorecards());
+    }
+
+    @PostMapping("/scorecards")
+    public ResponseEntity<Scorecard> publishScorecard(@RequestBody ScorecardDefinition definition,
+                                                      @RequestParam(required = false) String description) {
+        return ResponseEntity.ok(adminService.publishScorecard(definition, description));
+    }
+
+    @PostMapping("/scorecards/{version}/activate")
+    public ResponseEntity<Scorecard> activateScorecard(@PathVariable Long version) {
+        return ResponseEntity.ok(adminService.activateScorecard(version));
+    }
+
     @GetMapping("/params")
     public ResponseEntity<List<SystemParameter>> getParams() {
-        return ResponseEntity.ok(systemParameterRepository.findAll());
+        return ResponseEntity.ok(adminService.getAllParameters());
+    }
+
+    @GetMapping("/params/registry")
+    public ResponseEntity<SystemParameterRegistry.Snapshot> getParamRegistry() {
+        return ResponseEntity.ok(parameterRegistry.current());
     }
 
     @PostMapping("/params")
     public ResponseEntity<SystemParameter> updateParam(@RequestBody SystemParameter param) {
-        return ResponseEntity.ok(systemParameterRepository.save(param));
+        return ResponseEntity.ok(adminService.updateParameter(param));
     }
 
     @GetMapping("/applications")
@@ -113,29 +223,19 @@ public class AdminController {
     }
 
     @GetMapping("/applications/export")
-    public void exportApplicationsToCsv(HttpServletResponse response) throws IOException {
-        response.setContentType("text/csv; charset=UTF-8");
-        response.addHeader("Content-Disposition", "attachment; filename=\"applications_report.csv\"");
-        response.getWriter().write('\uFEFF');
-
-        PrintWriter writer = response.getWriter();
-        writer.println("ID;Client;Passport;Income;Requested;Approved;Score;Term;Status;Date");
-
-        List<CreditApplication> apps = adminService.getAllApplications();
-
-        for (CreditApplication app : apps) {
-            writer.printf("%d;%s;%s;%s;%s;%s;%d;%d;%s;%s%n",
-                    app.getId(),
-                    app.getClient().getFullName(),
-                    app.getClient().getPassport(),
-                    app.getClient().getMonthlyIncome(),
-                    app.getRequestedLimit(),
-                    app.getFinalApprovedLimit() != null ? app.getFinalApprovedLimit() : "0",
-                    app.getCalculatedScore(),
-                    app.getTermMonths(),
-                    app.getStatus(),
-                    app.getCreatedAt().toString()
-            );
+    public void exportApplicationsToCsv(HttpServletResponse response,
+                                        @RequestParam(required = false) ApplicationStatus status,
+                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                        @RequestParam(defaultValue = "false") boolean gzip) throws IOException {
+        response.setContentType(gzip ? "application/gzip" : "text/csv; charset=UTF-8");
+        response.addHeader("Content-Disposition",
+                "attachment; filename=\"applications_report.csv" + (gzip ? ".gz" : "") + "\"");
+
+        OutputStream out = new BufferedOutputStream(response.getOutputStream(), EXPORT_BUFFER_SIZE);
+        if (gzip) out = new GZIPOutputStream(out, EXPORT_BUFFER_SIZE, true);
+        try (OutputStream body = out) {
+            applicationExportService.writeCsv(status, from, to, body);
         }
     }
 
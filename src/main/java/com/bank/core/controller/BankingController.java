@@ -1,12 +1,19 @@
 package com.bank.core.controller;
 
 import com.bank.core.dto.*;
+import com.bank.core.security.AuthenticatedUser;
+import com.bank.core.service.ApplicationIntakeQueue;
 import com.bank.core.service.ApplicationService;
+import com.bank.core.service.IdempotencyService;
 import com.bank.core.service.TransactionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.net.URI;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1")
@@ -15,17 +22,39 @@ import org.springframework.web.bind.annotation.*;
 public class BankingController {
 
     private final ApplicationService applicationService;
+    private final ApplicationIntakeQueue intakeQueue;
     private final TransactionService transactionService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping("/applications/apply")
-    public ResponseEntity<String> submitApplication(@Valid @RequestBody ApplicationRequestDTO request) {
+    public ResponseEntity<?> submitApplication(@Valid @RequestBody ApplicationRequestDTO request) {
+        if (intakeQueue.isQueued()) {
+            ApplicationStatusDTO status = intakeQueue.submit(request);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/v1/applications/" + status.getId()))
+                    .body(status);
+        }
         String result = applicationService.processApplication(request);
         return ResponseEntity.ok(result);
     }
 
+    @GetMapping("/applications/{id}")
+    public DeferredResult<ApplicationStatusDTO> getApplicationStatus(AuthenticatedUser user, @PathVariable Long id,
+                                                                     @RequestParam(defaultValue = "0") long waitMs) {
+        Long clientId = "CLIENT".equals(user.role()) ? user.requireClientId() : null;
+        return intakeQueue.awaitStatus(id, clientId, waitMs);
+    }
+
     @PostMapping("/transactions/simulate")
-    public ResponseEntity<TransactionResponseDTO> simulateTransaction(@Valid @RequestBody TransactionRequestDTO request) {
-        TransactionResponseDTO response = transactionService.processTransaction(request);
+    public ResponseEntity<TransactionResponseDTO> simulateTransaction(AuthenticatedUser user, @Valid @RequestBody TransactionRequestDTO request,
+                                                                      @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        TransactionResponseDTO response = idempotencyService.execute(idempotencyKey, "purchase:" + user.username(),
+                request, TransactionResponseDTO.class, () -> transactionService.processTransaction(request));
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/transactions/batch")
+    public ResponseEntity<List<TransactionResponseDTO>> processTransactionBatch(@RequestBody List<TransactionRequestDTO> requests) {
+        return ResponseEntity.ok(transactionService.processBatch(requests));
+    }
 }
\ No newline at end of file
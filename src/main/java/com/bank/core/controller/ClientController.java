@@ -1,26 +1,34 @@
 package com.bank.core.controller;
 
 import com.bank.core.domain.Client;
-import com.bank.core.domain.User;
 import com.bank.core.dto.BonusHistoryDTO;
+import com.bank.core.dto.BonusMonthlySummaryDTO;
 import com.bank.core.dto.ClientDashboardDTO;
+import com.bank.core.dto.CursorPageDTO;
 import com.bank.core.dto.TransactionHistoryDTO;
 import com.bank.core.repository.ClientRepository;
-import com.bank.core.repository.UserRepository;
+import com.bank.core.security.AuthenticatedUser;
 import com.bank.core.service.CardService;
 import com.bank.core.service.ClientService;
+import com.bank.core.service.IdempotencyService;
 import com.bank.core.service.LoyaltyService;
 import com.bank.core.service.ScoringService;
+import com.bank.core.service.StatementExportService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/v1/client")
@@ -28,26 +36,70 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class ClientController {
 
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
     private final ClientService clientService;
     private final CardService cardService;
     private final LoyaltyService loyaltyService;
-    private final UserRepository userRepository;
     private final ClientRepository clientRepository;
     private final ScoringService scoringService;
+    private final IdempotencyService idempotencyService;
+    private final StatementExportService statementExportService;
 
     @GetMapping("/dashboard")
-    public ResponseEntity<ClientDashboardDTO> getDashboard(Authentication authentication) {
-        return ResponseEntity.ok(clientService.getDashboard(getClientIdFromAuth(authentication)));
+    public ResponseEntity<ClientDashboardDTO> getDashboard(AuthenticatedUser user) {
+        return ResponseEntity.ok(clientService.getDashboard(user.requireClientId()));
     }
 
     @GetMapping("/bonuses/history")
-    public ResponseEntity<List<BonusHistoryDTO>> getBonusHistory(Authentication authentication) {
-        return ResponseEntity.ok(clientService.getBonusHistory(getClientIdFromAuth(authentication)));
+    public ResponseEntity<CursorPageDTO<BonusHistoryDTO>> getBonusHistory(AuthenticatedUser user,
+                                                                          @RequestParam(required = false) String cursor,
+                                                                          @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(clientService.getBonusHistory(user.requireClientId(), cursor, size));
+    }
+
+    @GetMapping("/bonuses/summary")
+    public ResponseEntity<List<BonusMonthlySummaryDTO>> getBonusSummary(AuthenticatedUser user,
+                                                                        @RequestParam(defaultValue = "12") int months) {
+        return ResponseEntity.ok(clientService.getBonusSummary(user.requireClientId(), months));
     }
 
     @GetMapping("/transactions/history")
-    public ResponseEntity<List<TransactionHistoryDTO>> getTransactionHistory(Authentication authentication) {
-        return ResponseEntity.ok(clientService.getTransactionHistory(getClientIdFromAuth(authentication)));
+    public ResponseEntity<CursorPageDTO<TransactionHistoryDTO>> getTransactionHistory(
+            AuthenticatedUser user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String mcc) {
+        return ResponseEntity.ok(clientService.getTransactionHistory(user.requireClientId(), cursor, size, from, to, mcc));
+    }
+
+    @GetMapping("/transactions/export")
+    public void exportTransactions(AuthenticatedUser user, HttpServletResponse response,
+                                   @RequestParam(defaultValue = "csv") String format,
+                                   @RequestParam(defaultValue = "false") boolean gzip,
+                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) throws IOException {
+        StatementExportService.Format exportFormat = "ndjson".equalsIgnoreCase(format)
+                ? StatementExportService.Format.NDJSON : StatementExportService.Format.CSV;
+        Long clientId = user.requireClientId();
+        String fileName = "statement." + (exportFormat == StatementExportService.Format.CSV ? "csv" : "ndjson");
+
+        if (gzip) {
+            response.setContentType("application/gzip");
+            fileName += ".gz";
+        } else {
+            response.setContentType(exportFormat == StatementExportService.Format.CSV
+                    ? "text/csv; charset=UTF-8" : "application/x-ndjson");
+        }
+        response.addHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"");
+
+        OutputStream out = new BufferedOutputStream(response.getOutputStream(), EXPORT_BUFFER_SIZE);
+        if (gzip) out = new GZIPOutputStream(out, EXPORT_BUFFER_SIZE, true);
+        try (OutputStream body = out) {
+            statementExportService.writeStatement(clientId, from, to, exportFormat, body);
+        }
     }
 
     @PostMapping("/cards/{cardId}/block")
@@ -57,30 +109,41 @@ public class ClientController {
     }
 
     @PostMapping("/cards/{cardId}/topup")
-    public ResponseEntity<String> topUpCard(@PathVariable Long cardId, @RequestBody Map<String, BigDecimal> body) {
-        cardService.topUpCard(cardId, body.get("amount"));
-        return ResponseEntity.ok("Карта пополнена");
+    public ResponseEntity<String> topUpCard(AuthenticatedUser user, @PathVariable Long cardId, @RequestBody Map<String, BigDecimal> body,
+                                            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        Map<String, Object> request = Map.of("cardId", cardId, "body", body);
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey, "topup:" + user.username(), request, String.class, () -> {
+            cardService.topUpCard(cardId, body.get("amount"));
+            return "Карта пополнена";
+        }));
     }
 
     @PostMapping("/cards/p2p")
-    public ResponseEntity<String> p2pTransfer(@RequestBody Map<String, Object> body) {
+    public ResponseEntity<String> p2pTransfer(AuthenticatedUser user, @RequestBody Map<String, Object> body,
+                                              @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         Long senderCardId = Long.valueOf(body.get("senderCardId").toString());
         String receiverCardNumber = body.get("receiverCardNumber").toString();
         BigDecimal amount = new BigDecimal(body.get("amount").toString());
 
-        cardService.p2pTransfer(senderCardId, receiverCardNumber, amount);
-        return ResponseEntity.ok("Перевод выполнен успешно");
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey, "p2p:" + user.username(), body, String.class, () -> {
+            cardService.p2pTransfer(senderCardId, receiverCardNumber, amount);
+            return "Перевод выполнен успешно";
+        }));
     }
 
     @PostMapping("/bonuses/convert")
-    public ResponseEntity<String> convertPoints(Authentication authentication, @RequestBody Map<String, Integer> body) {
-        loyaltyService.convertPointsToMoney(getClientIdFromAuth(authentication), body.get("points"));
-        return ResponseEntity.ok("Баллы конвертированы");
+    public ResponseEntity<String> convertPoints(AuthenticatedUser user, @RequestBody Map<String, Integer> body,
+                                                @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        Long clientId = user.requireClientId();
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey, "convert:" + user.username(), body, String.class, () -> {
+            loyaltyService.convertPointsToMoney(clientId, body.get("points"));
+            return "Баллы конвертированы";
+        }));
     }
 
     @PostMapping("/profile/update")
-    public ResponseEntity<String> updateProfile(Authentication authentication, @RequestBody Map<String, String> body) {
-        Long clientId = getClientIdFromAuth(authentication);
+    public ResponseEntity<String> updateProfile(AuthenticatedUser user, @RequestBody Map<String, String> body) {
+        Long clientId = user.requireClientId();
         Client client = clientRepository.findById(clientId).orElseThrow();
 
         boolean needsRecalc = false;
@@ -115,21 +178,16 @@ public class ClientController {
     }
 
     @PostMapping("/loans/{loanId}/pay")
-    public ResponseEntity<String> payLoan(Authentication authentication, @PathVariable Long loanId, @RequestBody Map<String, Object> body) {
-        Long clientId = getClientIdFromAuth(authentication);
+    public ResponseEntity<String> payLoan(AuthenticatedUser user, @PathVariable Long loanId, @RequestBody Map<String, Object> body,
+                                          @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        Long clientId = user.requireClientId();
         Long cardId = Long.valueOf(body.get("cardId").toString());
         BigDecimal amount = new BigDecimal(body.get("amount").toString());
 
-        clientService.payLoan(clientId, loanId, cardId, amount);
-        return ResponseEntity.ok("Платеж по кредиту выполнен");
-    }
-
-    private Long getClientIdFromAuth(Authentication authentication) {
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Пользователь не найден"));
-        Client client = clientRepository.findByUserId(user.getId())
-                .orElseThrow(() -> new RuntimeException("Профиль клиента не найден"));
-        return client.getId();
+        Map<String, Object> request = Map.of("loanId", loanId, "body", body);
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey, "loan-payment:" + user.username(), request, String.class, () -> {
+            clientService.payLoan(clientId, loanId, cardId, amount);
+            return "Платеж по кредиту выполнен";
+        }));
     }
 }
\ No newline at end of file
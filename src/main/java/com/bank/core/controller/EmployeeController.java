@@ -1,17 +1,16 @@
 package com.bank.core.controller;
 
 import com.bank.core.domain.Client;
-import com.bank.core.domain.CreditApplication;
+import com.bank.core.dto.ClientSummaryDTO;
 import com.bank.core.dto.CreditApplicationDTO;
+import com.bank.core.dto.CursorPageDTO;
 import com.bank.core.service.EmployeeService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
-import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/v1/employee")
@@ -22,8 +21,10 @@ public class EmployeeController {
     private final EmployeeService employeeService;
 
     @GetMapping("/clients")
-    public ResponseEntity<List<Client>> getAllClients() {
-        return ResponseEntity.ok(employeeService.getAllClients());
+    public ResponseEntity<CursorPageDTO<ClientSummaryDTO>> getClients(@RequestParam(required = false) String q,
+                                                                     @RequestParam(required = false) String cursor,
+                                                                     @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(employeeService.getClients(q, cursor, size));
     }
 
     @PutMapping("/clients/{id}")
@@ -32,11 +33,11 @@ public class EmployeeController {
     }
 
     @GetMapping("/applications/pending")
-    public ResponseEntity<List<CreditApplicationDTO>> getPendingApplications() {
-        List<CreditApplicationDTO> dtos = employeeService.getPendingApplications().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<CursorPageDTO<CreditApplicationDTO>> getPendingApplications(
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(employeeService.getPendingApplications(sort, cursor, size));
     }
 
     @PostMapping("/applications/{id}/approve")
@@ -64,27 +65,4 @@ public class EmployeeController {
         employeeService.changeCardStatus(id, status);
         return ResponseEntity.ok("Статус карты изменен");
     }
-
-    private CreditApplicationDTO convertToDTO(CreditApplication app) {
-        CreditApplicationDTO dto = new CreditApplicationDTO();
-        dto.setId(app.getId());
-        dto.setClientId(app.getClient().getId());
-        dto.setClientName(app.getClient().getFullName());
-        dto.setClientPassport(app.getClient().getPassport());
-        dto.setClientIncome(app.getClient().getMonthlyIncome());
-
-        dto.setRequestedLimit(app.getRequestedLimit());
-        dto.setApprovedMinLimit(app.getApprovedMinLimit());
-        dto.setApprovedMaxLimit(app.getApprovedMaxLimit());
-        dto.setFinalApprovedLimit(app.getFinalApprovedLimit());
-
-        dto.setCalculatedScore(app.getCalculatedScore());
-        dto.setWorkExperienceYears(app.getWorkExperienceYears());
-
-        dto.setTermMonths(app.getTermMonths());
-
-        dto.setStatus(app.getStatus().name());
-        dto.setCreatedAt(app.getCreatedAt());
-        return dto;
-    }
 }
\ No newline at end of file
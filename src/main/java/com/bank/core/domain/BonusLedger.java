@@ -8,7 +8,9 @@ import java.time.LocalDateTime;
 
 @Data
 @Entity
-@Table(name = "bonus_ledger")
+@Table(name = "bonus_ledger", indexes = {
+        @Index(name = "idx_bonus_ledger_account_created", columnList = "bonus_account_id, created_at, id")
+})
 public class BonusLedger {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
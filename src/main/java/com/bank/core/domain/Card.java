@@ -8,7 +8,9 @@ import java.time.LocalDate;
 
 @Data
 @Entity
-@Table(name = "cards")
+@Table(name = "cards", indexes = {
+        @Index(name = "idx_cards_client_status", columnList = "client_id, status, id")
+})
 public class Card {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -36,4 +38,8 @@ public class Card {
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private CardStatus status;
+
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version = 0L;
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.bank.core.domain;
 
 import com.bank.core.domain.enums.ApplicationStatus;
+import com.bank.core.domain.enums.RepaymentType;
 import jakarta.persistence.*;
 import lombok.Data;
 import java.math.BigDecimal;
@@ -8,7 +9,11 @@ import java.time.LocalDateTime;
 
 @Data
 @Entity
-@Table(name = "credit_applications")
+@Table(name = "credit_applications", indexes = {
+        @Index(name = "idx_credit_applications_status_created", columnList = "status, created_at"),
+        @Index(name = "idx_credit_applications_status_score", columnList = "status, calculated_score, id"),
+        @Index(name = "idx_credit_applications_status_limit", columnList = "status, requested_limit, id")
+})
 public class CreditApplication {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -39,10 +44,23 @@ public class CreditApplication {
     @Column(name = "term_months")
     private Integer termMonths;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "repayment_type")
+    private RepaymentType repaymentType;
+
+    @Column(name = "has_delinquency")
+    private Boolean hasDelinquency;
+
+    @Column(name = "decision_message")
+    private String decisionMessage;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private ApplicationStatus status;
 
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
 }
\ No newline at end of file
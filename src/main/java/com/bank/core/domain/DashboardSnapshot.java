@@ -0,0 +1,23 @@
+package com.bank.core.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "client_dashboard_snapshots")
+public class DashboardSnapshot {
+    @Id
+    @Column(name = "client_id")
+    private Long clientId;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+}
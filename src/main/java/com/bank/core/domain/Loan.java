@@ -1,6 +1,7 @@
 package com.bank.core.domain;
 
 import com.bank.core.domain.enums.LoanStatus;
+import com.bank.core.domain.enums.RepaymentType;
 import jakarta.persistence.*;
 import lombok.Data;
 import java.math.BigDecimal;
@@ -8,7 +9,9 @@ import java.time.LocalDate;
 
 @Data
 @Entity
-@Table(name = "loans")
+@Table(name = "loans", indexes = {
+        @Index(name = "idx_loans_client_status", columnList = "client_id, status")
+})
 public class Loan {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -39,6 +42,10 @@ public class Loan {
     @Column(name = "end_date")
     private LocalDate endDate;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "repayment_type")
+    private RepaymentType repaymentType;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private LoanStatus status;
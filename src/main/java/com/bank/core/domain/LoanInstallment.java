@@ -0,0 +1,53 @@
+package com.bank.core.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * One row of a loan repayment schedule. Keyed by (loan_id, seq) so the rows of a loan are stored together;
+ * amounts are minor units. Rows are written in bulk by LoanScheduleJdbcRepository.
+ */
+@Data
+@Entity
+@IdClass(LoanInstallment.Key.class)
+@Table(name = "loan_installments", indexes = {
+        @Index(name = "idx_loan_installments_open", columnList = "loan_id, settled, seq")
+})
+public class LoanInstallment {
+    @Id
+    @Column(name = "loan_id")
+    private Long loanId;
+
+    @Id
+    @Column(name = "seq")
+    private Short seq;
+
+    @Column(name = "due_date", nullable = false)
+    private LocalDate dueDate;
+
+    @Column(name = "principal_minor", nullable = false)
+    private long principalMinor;
+
+    @Column(name = "interest_minor", nullable = false)
+    private long interestMinor;
+
+    @Column(name = "paid_minor", nullable = false)
+    private long paidMinor;
+
+    @Column(nullable = false)
+    private boolean settled;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long loanId;
+        private Short seq;
+    }
+}
@@ -0,0 +1,168 @@
+package com.bank.core.domain;
+
+import com.bank.core.domain.enums.RepaymentType;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds monthly annuity or differentiated repayment schedules in minor units and applies payments to them.
+ * Interest of an installment is the outstanding principal times the annual rate / 12, rounded half-up;
+ * the last installment takes whatever principal is left so the schedule always repays the loan exactly.
+ */
+public final class LoanScheduleCalculator {
+
+    private static final long MONTHLY_RATE_DENOMINATOR = 12 * 10_000L;
+
+    private LoanScheduleCalculator() {
+    }
+
+    /**
+     * One installment; amounts are minor units.
+     */
+    public record Row(int seq, LocalDate dueDate, long principalMinor, long interestMinor, long paidMinor) {
+
+        public long amountMinor() {
+            return principalMinor + interestMinor;
+        }
+
+        public long outstandingMinor() {
+            return amountMinor() - paidMinor;
+        }
+
+        public boolean settled() {
+            return paidMinor >= amountMinor();
+        }
+
+        Row withPaid(long paid) {
+            return new Row(seq, dueDate, principalMinor, interestMinor, paid);
+        }
+    }
+
+    /**
+     * Installments {@code firstSeq .. firstSeq + count - 1}; installment {@code n} is due {@code n} months after the start.
+     */
+    public static List<Row> build(RepaymentType type, long principalMinor, long annualRateBp, int count,
+                                  int firstSeq, LocalDate startDate) {
+        List<Row> rows = new ArrayList<>(count);
+        if (count <= 0) return rows;
+
+        long payment = type == RepaymentType.DIFFERENTIATED
+                ? principalMinor / count
+                : annuityPaymentMinor(principalMinor, annualRateBp, count);
+        long balance = principalMinor;
+        for (int i = 0; i < count; i++) {
+            long interest = Money.multiplyFraction(balance, annualRateBp, MONTHLY_RATE_DENOMINATOR, RoundingMode.HALF_UP);
+            long principal;
+            if (i == count - 1) {
+                principal = balance;
+            } else if (type == RepaymentType.DIFFERENTIATED) {
+                principal = Math.min(balance, payment);
+            } else {
+                principal = Math.max(0, Math.min(balance, payment - interest));
+            }
+            balance -= principal;
+            int seq = firstSeq + i;
+            rows.add(new Row(seq, startDate.plusMonths(seq), principal, interest, 0));
+        }
+        return rows;
+    }
+
+    /**
+     * P * r / (1 - (1 + r)^-n) for the monthly rate r, rounded half-up to a minor unit.
+     */
+    public static long annuityPaymentMinor(long principalMinor, long annualRateBp, int count) {
+        if (annualRateBp == 0) return Money.divide(principalMinor, count, RoundingMode.HALF_UP);
+        MathContext mc = MathContext.DECIMAL128;
+        BigDecimal rate = BigDecimal.valueOf(annualRateBp).divide(BigDecimal.valueOf(MONTHLY_RATE_DENOMINATOR), mc);
+        BigDecimal growth = BigDecimal.ONE.add(rate).pow(count, mc);
+        return BigDecimal.valueOf(principalMinor)
+                .multiply(rate, mc)
+                .multiply(growth, mc)
+                .divide(growth.subtract(BigDecimal.ONE), mc)
+                .setScale(0, RoundingMode.HALF_UP)
+                .longValueExact();
+    }
+
+    /**
+     * Rebuilds the unsettled part of a schedule for a new rate. The settled leading installments are kept,
+     * the principal they did not repay is spread over the remaining months, and amounts already paid
+     * towards the replaced installments are applied to the new ones.
+     *
+     * @param legacyPaidMinor amount paid on a loan that has no schedule rows yet
+     */
+    public static List<Row> regenerate(RepaymentType type, long principalMinor, long annualRateBp, int termMonths,
+                                       LocalDate startDate, List<Row> current, long legacyPaidMinor) {
+        int kept = settledPrefix(current);
+        List<Row> schedule = new ArrayList<>(Math.max(termMonths, kept));
+        long repaidPrincipal = 0;
+        long credit = legacyPaidMinor;
+        for (int i = 0; i < current.size(); i++) {
+            Row row = current.get(i);
+            if (i < kept) {
+                schedule.add(row);
+                repaidPrincipal += row.principalMinor();
+            } else {
+                credit += row.paidMinor();
+            }
+        }
+        if (kept >= termMonths) return schedule;
+
+        List<Row> rest = build(type, principalMinor - repaidPrincipal, annualRateBp, termMonths - kept, kept + 1, startDate);
+        schedule.addAll(pay(rest, credit));
+        return schedule;
+    }
+
+    /**
+     * Number of leading installments that are fully paid; payments settle installments in order.
+     */
+    public static int settledPrefix(List<Row> rows) {
+        int kept = 0;
+        while (kept < rows.size() && rows.get(kept).seq() == kept + 1 && rows.get(kept).settled()) kept++;
+        return kept;
+    }
+
+    /**
+     * Applies a payment to the earliest unsettled installments; anything above the outstanding total is not applied.
+     */
+    public static List<Row> pay(List<Row> rows, long amountMinor) {
+        List<Row> paid = new ArrayList<>(rows.size());
+        long left = amountMinor;
+        for (Row row : rows) {
+            if (left > 0 && !row.settled()) {
+                long applied = Math.min(left, row.outstandingMinor());
+                left -= applied;
+                paid.add(row.withPaid(row.paidMinor() + applied));
+            } else {
+                paid.add(row);
+            }
+        }
+        return paid;
+    }
+
+    public static long totalMinor(List<Row> rows) {
+        long total = 0;
+        for (Row row : rows) total += row.amountMinor();
+        return total;
+    }
+
+    public static long outstandingMinor(List<Row> rows) {
+        long outstanding = 0;
+        for (Row row : rows) outstanding += row.outstandingMinor();
+        return outstanding;
+    }
+
+    /**
+     * The earliest installment that is not fully paid, or {@code null} when the loan is repaid.
+     */
+    public static Row nextDue(List<Row> rows) {
+        for (Row row : rows) {
+            if (!row.settled()) return row;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,46 @@
+package com.bank.core.domain;
+
+import com.bank.core.domain.enums.OutboxStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "loyalty_outbox", indexes = {
+        @Index(name = "idx_loyalty_outbox_status_id", columnList = "status, id")
+})
+public class LoyaltyOutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "transaction_id", unique = true, nullable = false)
+    private Long transactionId;
+
+    @Column(name = "card_id", nullable = false)
+    private Long cardId;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(nullable = false)
+    private Money amount;
+
+    @Column(name = "mcc_code", nullable = false, length = 20)
+    private String mccCode;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+}
@@ -0,0 +1,120 @@
+package com.bank.core.domain;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public final class Money implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+    public static final long MINOR_PER_UNIT = 100;
+    public static final Money ZERO = new Money(0);
+
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    @JsonCreator
+    public static Money of(BigDecimal amount) {
+        return ofMinor(toMinor(amount, RoundingMode.UNNECESSARY));
+    }
+
+    public static Money of(BigDecimal amount, RoundingMode rounding) {
+        return ofMinor(toMinor(amount, rounding));
+    }
+
+    public long minorUnits() {
+        return minorUnits;
+    }
+
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public Money negate() {
+        return ofMinor(Math.negateExact(minorUnits));
+    }
+
+    public Money multiply(long numerator, long denominator, RoundingMode rounding) {
+        return ofMinor(multiplyFraction(minorUnits, numerator, denominator, rounding));
+    }
+
+    public Money divide(long divisor, RoundingMode rounding) {
+        return ofMinor(divide(minorUnits, divisor, rounding));
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public boolean isGreaterThanOrEqual(Money other) {
+        return minorUnits >= other.minorUnits;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Money other && minorUnits == other.minorUnits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    public static long toMinor(BigDecimal amount, RoundingMode rounding) {
+        return amount.setScale(SCALE, rounding).unscaledValue().longValueExact();
+    }
+
+    public static long multiplyFraction(long value, long numerator, long denominator, RoundingMode rounding) {
+        return divide(Math.multiplyExact(value, numerator), denominator, rounding);
+    }
+
+    public static long divide(long dividend, long divisor, RoundingMode rounding) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) return quotient;
+
+        int sign = Long.signum(dividend) * Long.signum(divisor);
+        boolean increment = switch (rounding) {
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+            case DOWN -> false;
+            case UP -> true;
+            case FLOOR -> sign < 0;
+            case CEILING -> sign > 0;
+            case HALF_UP, HALF_DOWN, HALF_EVEN -> {
+                long absRemainder = Math.abs(remainder);
+                int half = Long.compare(absRemainder, Math.abs(divisor) - absRemainder);
+                if (half != 0) yield half > 0;
+                yield rounding == RoundingMode.HALF_UP || (rounding == RoundingMode.HALF_EVEN && (quotient & 1) != 0);
+            }
+        };
+        return increment ? quotient + sign : quotient;
+    }
+}
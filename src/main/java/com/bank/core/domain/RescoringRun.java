@@ -0,0 +1,55 @@
+package com.bank.core.domain;
+
+import com.bank.core.domain.enums.RescoringStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint of a portfolio rescoring run: clients are processed in id order,
+ * so an interrupted run resumes after {@code lastClientId}.
+ */
+@Data
+@Entity
+@Table(name = "rescoring_runs", indexes = {
+        @Index(name = "idx_rescoring_runs_status_id", columnList = "status, id")
+})
+public class RescoringRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private RescoringStatus status = RescoringStatus.RUNNING;
+
+    @Column(name = "bpm_minor", nullable = false)
+    private Long bpmMinor;
+
+    @Column(name = "scorecard_version", nullable = false)
+    private Long scorecardVersion = 0L;
+
+    @Column(name = "last_client_id", nullable = false)
+    private Long lastClientId = 0L;
+
+    @Column(name = "total_clients", nullable = false)
+    private Long totalClients = 0L;
+
+    @Column(nullable = false)
+    private Long processed = 0L;
+
+    @Column(nullable = false)
+    private Long changed = 0L;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt = LocalDateTime.now();
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,29 @@
+package com.bank.core.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "scorecards")
+public class Scorecard {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private Long version;
+
+    @Column(nullable = false)
+    private boolean active;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String definition;
+
+    @Column(name = "description")
+    private String description;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
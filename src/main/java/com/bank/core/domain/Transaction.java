@@ -8,7 +8,10 @@ import java.time.LocalDateTime;
 
 @Data
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_card_created", columnList = "card_id, created_at, id"),
+        @Index(name = "idx_transactions_card_mcc_created", columnList = "card_id, mcc_code, created_at, id")
+})
 public class Transaction {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
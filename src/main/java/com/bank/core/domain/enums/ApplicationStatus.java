@@ -1,6 +1,7 @@
 package com.bank.core.domain.enums;
 
 public enum ApplicationStatus {
+    QUEUED,
     PENDING,
     APPROVED,
     REJECTED
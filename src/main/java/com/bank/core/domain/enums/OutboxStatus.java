@@ -0,0 +1,7 @@
+package com.bank.core.domain.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    PROCESSED,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package com.bank.core.domain.enums;
+
+public enum RepaymentType {
+    ANNUITY,
+    DIFFERENTIATED
+}
@@ -0,0 +1,8 @@
+package com.bank.core.domain.enums;
+
+public enum RescoringStatus {
+    RUNNING,
+    COMPLETED,
+    CANCELLED,
+    FAILED
+}
@@ -0,0 +1,25 @@
+package com.bank.core.domain.enums;
+
+public enum SystemParameterKey {
+    BPM("400", "Бюджет прожиточного минимума (BYN)"),
+    POINTS_RATE("10", "Курс конвертации баллов (Баллов за 1 BYN)"),
+    LOAN_RATE_UP_TO_12M("12", "Годовая ставка по кредитам сроком до 12 мес. (%)"),
+    LOAN_RATE_UP_TO_36M("15", "Годовая ставка по кредитам сроком до 36 мес. (%)"),
+    LOAN_RATE_OVER_36M("18", "Годовая ставка по кредитам сроком свыше 36 мес. (%)");
+
+    private final String defaultValue;
+    private final String description;
+
+    SystemParameterKey(String defaultValue, String description) {
+        this.defaultValue = defaultValue;
+        this.description = description;
+    }
+
+    public String getDefaultValue() {
+        return defaultValue;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
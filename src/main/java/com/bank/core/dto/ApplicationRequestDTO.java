@@ -1,5 +1,6 @@
 package com.bank.core.dto;
 
+import com.bank.core.domain.enums.RepaymentType;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
@@ -26,4 +27,6 @@ public class ApplicationRequestDTO {
     @Min(value = 3, message = "Минимум 3 месяца")
     @Max(value = 60, message = "Максимум 60 месяцев")
     private Integer termMonths;
+
+    private RepaymentType repaymentType;
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.bank.core.dto;
+
+import com.bank.core.domain.enums.ApplicationStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+public class ApplicationStatusDTO {
+    private Long id;
+    private Long clientId;
+    private String status;
+    private Integer calculatedScore;
+    private BigDecimal approvedMinLimit;
+    private BigDecimal approvedMaxLimit;
+    private String message;
+    private LocalDateTime createdAt;
+    private LocalDateTime processedAt;
+
+    public ApplicationStatusDTO(Long id, Long clientId, ApplicationStatus status, Integer calculatedScore,
+                                BigDecimal approvedMinLimit, BigDecimal approvedMaxLimit, String message,
+                                LocalDateTime createdAt, LocalDateTime processedAt) {
+        this.id = id;
+        this.clientId = clientId;
+        this.status = status.name();
+        this.calculatedScore = calculatedScore;
+        this.approvedMinLimit = approvedMinLimit;
+        this.approvedMaxLimit = approvedMaxLimit;
+        this.message = message;
+        this.createdAt = createdAt;
+        this.processedAt = processedAt;
+    }
+}
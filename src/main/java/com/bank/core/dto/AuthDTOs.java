@@ -2,7 +2,9 @@ package com.bank.core.dto;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -46,6 +48,8 @@ public class AuthDTOs {
     }
 
     @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
     public static class UserDTO {
         private Long id;
         private String username;
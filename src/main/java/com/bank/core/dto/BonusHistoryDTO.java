@@ -1,12 +1,24 @@
 package com.bank.core.dto;
+import com.bank.core.domain.enums.BonusType;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
 public class BonusHistoryDTO {
+    private Long id;
     private LocalDateTime date;
     private String type;
     private BigDecimal amount;
     private String description;
-}
\ No newline at end of file
+
+    public BonusHistoryDTO(Long id, LocalDateTime date, BonusType type, BigDecimal amount, String description) {
+        this.id = id;
+        this.date = date;
+        this.type = type.name();
+        this.amount = amount;
+        this.description = description;
+    }
+}
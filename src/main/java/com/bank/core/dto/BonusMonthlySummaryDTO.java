@@ -0,0 +1,16 @@
+package com.bank.core.dto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BonusMonthlySummaryDTO {
+    private String period;
+    private BigDecimal pointsEarned;
+    private BigDecimal pointsSpent;
+    private BigDecimal cashback;
+    private long operations;
+}
@@ -0,0 +1,29 @@
+package com.bank.core.dto;
+
+import com.bank.core.domain.enums.RiskClass;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+public class ClientSummaryDTO {
+    private Long id;
+    private Long userId;
+    private String fullName;
+    private String passport;
+    private BigDecimal monthlyIncome;
+    private Integer creditHistoryScore;
+    private String riskClass;
+
+    public ClientSummaryDTO(Long id, Long userId, String fullName, String passport, BigDecimal monthlyIncome,
+                            Integer creditHistoryScore, RiskClass riskClass) {
+        this.id = id;
+        this.userId = userId;
+        this.fullName = fullName;
+        this.passport = passport;
+        this.monthlyIncome = monthlyIncome;
+        this.creditHistoryScore = creditHistoryScore;
+        this.riskClass = riskClass != null ? riskClass.name() : null;
+    }
+}
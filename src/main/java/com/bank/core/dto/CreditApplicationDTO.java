@@ -1,10 +1,13 @@
 package com.bank.core.dto;
 
+import com.bank.core.domain.enums.ApplicationStatus;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
 public class CreditApplicationDTO {
     private Long id;
     private Long clientId;
@@ -24,4 +27,24 @@ public class CreditApplicationDTO {
 
     private String status;
     private LocalDateTime createdAt;
+
+    public CreditApplicationDTO(Long id, Long clientId, String clientName, String clientPassport, BigDecimal clientIncome,
+                                BigDecimal requestedLimit, BigDecimal approvedMinLimit, BigDecimal approvedMaxLimit,
+                                BigDecimal finalApprovedLimit, Integer calculatedScore, Double workExperienceYears,
+                                Integer termMonths, ApplicationStatus status, LocalDateTime createdAt) {
+        this.id = id;
+        this.clientId = clientId;
+        this.clientName = clientName;
+        this.clientPassport = clientPassport;
+        this.clientIncome = clientIncome;
+        this.requestedLimit = requestedLimit;
+        this.approvedMinLimit = approvedMinLimit;
+        this.approvedMaxLimit = approvedMaxLimit;
+        this.finalApprovedLimit = finalApprovedLimit;
+        this.calculatedScore = calculatedScore;
+        this.workExperienceYears = workExperienceYears;
+        this.termMonths = termMonths;
+        this.status = status.name();
+        this.createdAt = createdAt;
+    }
 }
\ No newline at end of file
@@ -12,5 +12,6 @@ public class LoanDTO {
     private BigDecimal remainingDebt;
     private BigDecimal monthlyPayment;
     private LocalDate nextPaymentDate;
+    private BigDecimal nextPaymentAmount;
     private String status;
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.bank.core.dto;
+
+import com.bank.core.domain.enums.RiskClass;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stored form of a scorecard. Within every list the first matching band wins,
+ * so the order of bands does not matter: they are sorted when the scorecard is compiled.
+ */
+public record ScorecardDefinition(
+        List<IncomeBand> income,
+        int incomeOtherwisePoints,
+        List<Band> experienceMonths,
+        int experienceOtherwisePoints,
+        int delinquencyPoints,
+        int noDelinquencyPoints,
+        int activeLoansPoints,
+        List<Band> ptiPercent,
+        List<RangeBand> age,
+        Map<String, Integer> maritalStatus,
+        List<DecisionBand> decisions,
+        String declineMessage) {
+
+    /**
+     * Income compared to BPM in permille: 3000 means "3 x BPM".
+     */
+    public record IncomeBand(long minBpmPermille, boolean exclusive, int points) {
+    }
+
+    public record Band(long min, int points) {
+    }
+
+    public record RangeBand(int min, int max, int points) {
+    }
+
+    public record DecisionBand(int minScore, RiskClass riskClass, BigDecimal minLimit, BigDecimal maxLimit,
+                               String message) {
+    }
+
+    public static ScorecardDefinition defaults() {
+        return new ScorecardDefinition(
+                List.of(new IncomeBand(3000, true, 35), new IncomeBand(1500, false, 15)),
+                5,
+                List.of(new Band(36, 20), new Band(12, 10)),
+                0,
+                -60,
+                30,
+                -10,
+                List.of(new Band(61, -80), new Band(41, -30)),
+                List.of(new RangeBand(30, 55, 5)),
+                Map.of("MARRIED", 10),
+                List.of(
+                        new DecisionBand(75, RiskClass.LOW, BigDecimal.valueOf(5000), BigDecimal.valueOf(10000), "Одобрено (Премиум)"),
+                        new DecisionBand(40, RiskClass.MIDDLE, BigDecimal.valueOf(1500), BigDecimal.valueOf(5000), "Одобрено (Стандарт)"),
+                        new DecisionBand(10, RiskClass.HIGH, BigDecimal.valueOf(500), BigDecimal.valueOf(1500), "Одобрено (Минимальный)")),
+                "Отказ");
+    }
+}
@@ -0,0 +1,13 @@
+package com.bank.core.dto;
+
+import lombok.Data;
+import java.math.BigDecimal;
+
+/**
+ * Candidate parameters of a what-if run; anything left empty keeps its current value.
+ */
+@Data
+public class ScoringSimulationRequestDTO {
+    private BigDecimal bpm;
+    private ScorecardDefinition scorecard;
+}
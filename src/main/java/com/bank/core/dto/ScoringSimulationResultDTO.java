@@ -0,0 +1,46 @@
+package com.bank.core.dto;
+
+import com.bank.core.domain.enums.RiskClass;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class ScoringSimulationResultDTO {
+    private long clients;
+
+    private BigDecimal baselineBpm;
+    private BigDecimal candidateBpm;
+    private long baselineScorecardVersion;
+    private boolean candidateScorecard;
+
+    private Map<RiskClass, Long> storedDistribution;
+    private Map<RiskClass, Long> baselineDistribution;
+    private Map<RiskClass, Long> candidateDistribution;
+    private Map<RiskClass, Map<RiskClass, Long>> transitions;
+    private long clientsChangingClass;
+    private List<ScoreBucket> scoreHistogram;
+
+    private long baselineApproved;
+    private long candidateApproved;
+    private BigDecimal baselineMaxLimitTotal;
+    private BigDecimal candidateMaxLimitTotal;
+
+    private LocalDateTime snapshotBuiltAt;
+    private long snapshotBuildMs;
+    private long simulationMs;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ScoreBucket {
+        private int from;
+        private int to;
+        private long baseline;
+        private long candidate;
+    }
+}
@@ -1,10 +1,13 @@
 package com.bank.core.dto;
 
+import com.bank.core.domain.enums.TransactionStatus;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
 public class TransactionHistoryDTO {
     private Long id;
     private String cardNumber;
@@ -13,4 +16,15 @@ public class TransactionHistoryDTO {
     private String description;
     private String status;
     private LocalDateTime createdAt;
-}
\ No newline at end of file
+
+    public TransactionHistoryDTO(Long id, String cardNumber, BigDecimal amount, String mccCode,
+                                 String description, TransactionStatus status, LocalDateTime createdAt) {
+        this.id = id;
+        this.cardNumber = cardNumber;
+        this.amount = amount;
+        this.mccCode = mccCode;
+        this.description = description;
+        this.status = status.name();
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,20 @@
+package com.bank.core.event;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public record ClientDashboardChangedEvent(Set<Long> clientIds, Set<Long> cardIds) {
+
+    public static ClientDashboardChangedEvent ofClient(Long clientId) {
+        return new ClientDashboardChangedEvent(Set.of(clientId), Set.of());
+    }
+
+    public static ClientDashboardChangedEvent ofCards(Long... cardIds) {
+        return ofCards(List.of(cardIds));
+    }
+
+    public static ClientDashboardChangedEvent ofCards(Collection<Long> cardIds) {
+        return new ClientDashboardChangedEvent(Set.of(), Set.copyOf(cardIds));
+    }
+}
@@ -0,0 +1,4 @@
+package com.bank.core.event;
+
+public record LoyaltyRulesChangedEvent(Long ruleId) {
+}
@@ -0,0 +1,9 @@
+package com.bank.core.exception;
+
+public class IdempotencyKeyReuseException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public IdempotencyKeyReuseException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.bank.core.exception;
+
+public class ServiceBusyException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
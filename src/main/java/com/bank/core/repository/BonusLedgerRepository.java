@@ -1,8 +1,50 @@
 package com.bank.core.repository;
 import com.bank.core.domain.BonusLedger;
+import com.bank.core.dto.BonusHistoryDTO;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface BonusLedgerRepository extends JpaRepository<BonusLedger, Long> {
-    List<BonusLedger> findByBonusAccountIdOrderByCreatedAtDesc(Long bonusAccountId);
-}
\ No newline at end of file
+
+    @Query("""
+            SELECT new com.bank.core.dto.BonusHistoryDTO(l.id, l.createdAt, l.type, l.amount, l.description)
+            FROM BonusLedger l
+            WHERE l.bonusAccount.client.id = :clientId
+              AND (:cursorAt IS NULL OR l.createdAt < :cursorAt OR (l.createdAt = :cursorAt AND l.id < :cursorId))
+            ORDER BY l.createdAt DESC, l.id DESC""")
+    List<BonusHistoryDTO> findHistoryPage(@Param("clientId") Long clientId,
+                                          @Param("cursorAt") LocalDateTime cursorAt,
+                                          @Param("cursorId") Long cursorId,
+                                          Pageable pageable);
+
+    @Query(value = """
+            SELECT DATE_FORMAT(l.created_at, '%Y-%m') AS period,
+                   SUM(CASE WHEN l.type = 'POINTS' AND l.amount > 0 THEN l.amount ELSE 0 END) AS pointsEarned,
+                   SUM(CASE WHEN l.type = 'POINTS' AND l.amount < 0 THEN -l.amount ELSE 0 END) AS pointsSpent,
+                   SUM(CASE WHEN l.type = 'CASHBACK_RUB' THEN l.amount ELSE 0 END) AS cashback,
+                   COUNT(*) AS operations
+            FROM bonus_ledger l
+            JOIN bonus_accounts b ON b.id = l.bonus_account_id
+            WHERE b.client_id = :clientId AND l.created_at >= :from
+            GROUP BY period
+            ORDER BY period DESC""", nativeQuery = true)
+    List<MonthlySummaryView> summarizeByMonth(@Param("clientId") Long clientId, @Param("from") LocalDateTime from);
+
+    interface MonthlySummaryView {
+        String getPeriod();
+
+        BigDecimal getPointsEarned();
+
+        BigDecimal getPointsSpent();
+
+        BigDecimal getCashback();
+
+        Long getOperations();
+    }
+}
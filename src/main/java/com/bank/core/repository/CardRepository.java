@@ -1,9 +1,58 @@
 package com.bank.core.repository;
 
 import com.bank.core.domain.Card;
+import com.bank.core.domain.enums.CardStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface CardRepository extends JpaRepository<Card, Long> {
     Optional<Card> findByCardNumber(String cardNumber);
-}
\ No newline at end of file
+
+    List<Card> findByClientIdOrderByIdAsc(Long clientId);
+
+    Optional<Card> findFirstByClientIdAndStatusOrderByIdAsc(Long clientId, CardStatus status);
+
+    @Query("SELECT c.id FROM Card c WHERE c.client.id = :clientId ORDER BY c.id")
+    List<Long> findIdsByClientId(@Param("clientId") Long clientId, Pageable pageable);
+
+    @Query("SELECT c.id FROM Card c WHERE c.cardNumber = :cardNumber")
+    Optional<Long> findIdByCardNumber(@Param("cardNumber") String cardNumber);
+
+    @Query("SELECT c.client.fullName FROM Card c WHERE c.id = :id")
+    Optional<String> findHolderNameById(@Param("id") Long id);
+
+    @Query("SELECT c.id AS cardId, c.client.id AS clientId FROM Card c WHERE c.id IN :ids")
+    List<CardOwnerView> findOwnersByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT c.balance FROM Card c WHERE c.id = :id")
+    Optional<BigDecimal> findBalanceById(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Card c WHERE c.id IN :ids ORDER BY c.id")
+    List<Card> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Card c SET c.balance = c.balance - :amount, c.version = c.version + 1 " +
+            "WHERE c.id = :id AND c.status = com.bank.core.domain.enums.CardStatus.ACTIVE AND c.balance >= :amount")
+    int debitIfSufficient(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query("UPDATE Card c SET c.balance = c.balance + :amount, c.version = c.version + 1 WHERE c.id = :id")
+    int credit(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    interface CardOwnerView {
+        Long getCardId();
+
+        Long getClientId();
+    }
+}
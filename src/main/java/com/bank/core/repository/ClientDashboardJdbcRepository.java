@@ -0,0 +1,98 @@
+package com.bank.core.repository;
+
+import com.bank.core.domain.Money;
+import com.bank.core.dto.CardDTO;
+import com.bank.core.dto.ClientDashboardDTO;
+import com.bank.core.dto.LoanDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class ClientDashboardJdbcRepository {
+
+    private static final String SELECT_HEADER = """
+            SELECT c.id, c.full_name, c.monthly_income, c.employment_start_date, c.credit_history_score, c.risk_class,
+                   b.points_balance
+            FROM clients c
+            LEFT JOIN bonus_accounts b ON b.client_id = c.id
+            WHERE c.id = ?""";
+
+    /**
+     * The next installment of each loan is found through idx_loan_installments_open: the lowest unsettled seq of the loan.
+     */
+    private static final String SELECT_PRODUCTS = """
+            SELECT 'CARD' AS kind, id, card_number AS number, balance AS amount1, credit_limit AS amount2,
+                   NULL AS amount3, NULL AS amount4, NULL AS minor_value, status, expiration_date AS date_value
+            FROM cards WHERE client_id = ?
+            UNION ALL
+            SELECT 'LOAN', l.id, NULL, l.principal_amount, l.total_amount_to_repay,
+                   l.remaining_debt, l.monthly_payment, i.principal_minor + i.interest_minor - i.paid_minor,
+                   l.status, i.due_date
+            FROM loans l
+            LEFT JOIN loan_installments i ON i.loan_id = l.id
+                 AND i.seq = (SELECT MIN(n.seq) FROM loan_installments n WHERE n.loan_id = l.id AND n.settled = FALSE)
+            WHERE l.client_id = ?
+            ORDER BY kind, id""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<ClientDashboardDTO> findDashboard(Long clientId) {
+        List<ClientDashboardDTO> headers = jdbcTemplate.query(SELECT_HEADER, (rs, rowNum) -> {
+            ClientDashboardDTO dashboard = new ClientDashboardDTO();
+            dashboard.setClientId(rs.getLong("id"));
+            dashboard.setFullName(rs.getString("full_name"));
+            dashboard.setMonthlyIncome(rs.getBigDecimal("monthly_income"));
+            dashboard.setEmploymentStartDate(toLocalDate(rs.getDate("employment_start_date")));
+            dashboard.setCreditHistoryScore(rs.getInt("credit_history_score"));
+            dashboard.setRiskClass(rs.getString("risk_class"));
+            dashboard.setPointsBalance(rs.getObject("points_balance", Integer.class));
+            return dashboard;
+        }, clientId);
+        if (headers.isEmpty()) return Optional.empty();
+
+        ClientDashboardDTO dashboard = headers.get(0);
+        List<CardDTO> cards = new ArrayList<>();
+        List<LoanDTO> loans = new ArrayList<>();
+
+        jdbcTemplate.query(SELECT_PRODUCTS, rs -> {
+            if ("CARD".equals(rs.getString("kind"))) {
+                CardDTO card = new CardDTO();
+                card.setId(rs.getLong("id"));
+                card.setCardNumber(rs.getString("number"));
+                card.setBalance(rs.getBigDecimal("amount1"));
+                card.setCreditLimit(rs.getBigDecimal("amount2"));
+                card.setStatus(rs.getString("status"));
+                card.setExpirationDate(toLocalDate(rs.getDate("date_value")));
+                cards.add(card);
+            } else {
+                LoanDTO loan = new LoanDTO();
+                loan.setId(rs.getLong("id"));
+                loan.setPrincipalAmount(rs.getBigDecimal("amount1"));
+                loan.setTotalRepay(rs.getBigDecimal("amount2"));
+                loan.setRemainingDebt(rs.getBigDecimal("amount3"));
+                loan.setMonthlyPayment(rs.getBigDecimal("amount4"));
+                loan.setStatus(rs.getString("status"));
+                loan.setNextPaymentDate(toLocalDate(rs.getDate("date_value")));
+                Long nextPaymentMinor = rs.getObject("minor_value", Long.class);
+                loan.setNextPaymentAmount(nextPaymentMinor != null ? Money.ofMinor(nextPaymentMinor).toBigDecimal() : null);
+                loans.add(loan);
+            }
+        }, clientId, clientId);
+
+        dashboard.setCards(cards);
+        dashboard.setLoans(loans);
+        return Optional.of(dashboard);
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date != null ? date.toLocalDate() : null;
+    }
+}
@@ -1,9 +1,38 @@
 package com.bank.core.repository;
 
 import com.bank.core.domain.Client;
+import com.bank.core.dto.ClientSummaryDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ClientRepository extends JpaRepository<Client, Long> {
     Optional<Client> findByUserId(Long userId);
-}
\ No newline at end of file
+
+    String SUMMARY_SELECT = """
+            SELECT new com.bank.core.dto.ClientSummaryDTO(
+                c.id, c.userId, c.fullName, c.passport, c.monthlyIncome, c.creditHistoryScore, c.riskClass)
+            FROM Client c
+            """;
+
+    @Query(SUMMARY_SELECT + "WHERE (:afterId IS NULL OR c.id > :afterId) ORDER BY c.id")
+    List<ClientSummaryDTO> findSummaryPage(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE c.id = :id")
+    Optional<ClientSummaryDTO> findSummaryById(@Param("id") Long id);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SUMMARY_SELECT + "ORDER BY c.id")
+    Stream<ClientSummaryDTO> streamAllSummaries();
+}
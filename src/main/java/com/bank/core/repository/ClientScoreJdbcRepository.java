@@ -0,0 +1,64 @@
+package com.bank.core.repository;
+
+import com.bank.core.domain.enums.RiskClass;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class ClientScoreJdbcRepository {
+
+    private static final String LOCK_SCORING_CHUNK = """
+            SELECT id, monthly_income, birth_date, employment_start_date, marital_status, credit_history_score, risk_class
+            FROM clients WHERE id > ? ORDER BY id LIMIT ? FOR UPDATE""";
+
+    private static final String UPDATE_SCORE =
+            "UPDATE clients SET credit_history_score = ?, risk_class = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * The next chunk of clients with their scoring inputs, locked until the surrounding transaction ends,
+     * so a profile update cannot slip in between reading the inputs and writing the score.
+     */
+    public List<ScoringInput> lockScoringChunk(long afterClientId, int limit) {
+        return jdbcTemplate.query(LOCK_SCORING_CHUNK, (rs, rowNum) -> {
+            String riskClass = rs.getString("risk_class");
+            return new ScoringInput(
+                    rs.getLong("id"),
+                    rs.getBigDecimal("monthly_income"),
+                    toLocalDate(rs.getDate("birth_date")),
+                    toLocalDate(rs.getDate("employment_start_date")),
+                    rs.getString("marital_status"),
+                    rs.getObject("credit_history_score", Integer.class),
+                    riskClass != null ? RiskClass.valueOf(riskClass) : null);
+        }, afterClientId, limit);
+    }
+
+    public void updateScores(List<ScoreUpdate> updates) {
+        if (updates.isEmpty()) return;
+
+        jdbcTemplate.batchUpdate(UPDATE_SCORE, updates, updates.size(), (ps, update) -> {
+            ps.setInt(1, update.score());
+            ps.setString(2, update.riskClass().name());
+            ps.setLong(3, update.clientId());
+        });
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date != null ? date.toLocalDate() : null;
+    }
+
+    public record ScoringInput(long id, BigDecimal monthlyIncome, LocalDate birthDate, LocalDate employmentStartDate,
+                               String maritalStatus, Integer creditHistoryScore, RiskClass riskClass) {
+    }
+
+    public record ScoreUpdate(long clientId, int score, RiskClass riskClass) {
+    }
+}
@@ -1,7 +1,130 @@
 package com.bank.core.repository;
 
 import com.bank.core.domain.CreditApplication;
+import com.bank.core.domain.enums.ApplicationStatus;
+import com.bank.core.dto.ApplicationStatusDTO;
+import com.bank.core.dto.CreditApplicationDTO;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface CreditApplicationRepository extends JpaRepository<CreditApplication, Long> {
-}
\ No newline at end of file
+
+    String QUEUE_SELECT = """
+            SELECT new com.bank.core.dto.CreditApplicationDTO(
+                a.id, c.id, c.fullName, c.passport, c.monthlyIncome,
+                a.requestedLimit, a.approvedMinLimit, a.approvedMaxLimit, a.finalApprovedLimit,
+                a.calculatedScore, a.workExperienceYears, a.termMonths, a.status, a.createdAt)
+            FROM CreditApplication a JOIN a.client c
+            WHERE a.status = :status
+            """;
+
+    @Query(QUEUE_SELECT + """
+              AND (:cursorAt IS NULL OR a.createdAt > :cursorAt OR (a.createdAt = :cursorAt AND a.id > :cursorId))
+            ORDER BY a.createdAt, a.id""")
+    List<CreditApplicationDTO> findQueueByCreatedAt(@Param("status") ApplicationStatus status,
+                                                    @Param("cursorAt") LocalDateTime cursorAt,
+                                                    @Param("cursorId") Long cursorId,
+                                                    Pageable pageable);
+
+    @Query(QUEUE_SELECT + """
+              AND (:cursorScore IS NULL OR a.calculatedScore < :cursorScore
+                   OR (a.calculatedScore = :cursorScore AND a.id > :cursorId))
+            ORDER BY a.calculatedScore DESC, a.id""")
+    List<CreditApplicationDTO> findQueueByScore(@Param("status") ApplicationStatus status,
+                                                @Param("cursorScore") Integer cursorScore,
+                                                @Param("cursorId") Long cursorId,
+                                                Pageable pageable);
+
+    @Query(QUEUE_SELECT + """
+              AND (:cursorLimit IS NULL OR a.requestedLimit < :cursorLimit
+                   OR (a.requestedLimit = :cursorLimit AND a.id > :cursorId))
+            ORDER BY a.requestedLimit DESC, a.id""")
+    List<CreditApplicationDTO> findQueueByRequestedLimit(@Param("status") ApplicationStatus status,
+                                                         @Param("cursorLimit") BigDecimal cursorLimit,
+                                                         @Param("cursorId") Long cursorId,
+                                                         Pageable pageable);
+
+    @Query("SELECT a.id AS id, a.client.id AS clientId FROM CreditApplication a WHERE a.status = :status ORDER BY a.id")
+    List<QueuedView> findQueuedByStatus(@Param("status") ApplicationStatus status, Pageable pageable);
+
+    long countByStatus(ApplicationStatus status);
+
+    /**
+     * Locks the applications together with their clients in client order; rows already scored by another worker drop out.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT a FROM CreditApplication a JOIN FETCH a.client c
+            WHERE a.id IN :ids AND a.status = :status
+            ORDER BY c.id, a.id""")
+    List<CreditApplication> lockByIdInAndStatus(@Param("ids") Collection<Long> ids,
+                                                @Param("status") ApplicationStatus status);
+
+    @Query("""
+            SELECT new com.bank.core.dto.ApplicationStatusDTO(
+                a.id, a.client.id, a.status, a.calculatedScore, a.approvedMinLimit, a.approvedMaxLimit,
+                a.decisionMessage, a.createdAt, a.processedAt)
+            FROM CreditApplication a
+            WHERE a.id = :id""")
+    Optional<ApplicationStatusDTO> findStatusById(@Param("id") Long id);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+            SELECT a.id AS id, c.fullName AS clientName, c.passport AS passport, c.monthlyIncome AS income,
+                   a.requestedLimit AS requestedLimit, a.finalApprovedLimit AS finalApprovedLimit,
+                   a.calculatedScore AS score, a.termMonths AS termMonths, a.status AS status, a.createdAt AS createdAt
+            FROM CreditApplication a JOIN a.client c
+            WHERE (:status IS NULL OR a.status = :status)
+              AND (:from IS NULL OR a.createdAt >= :from)
+              AND (:to IS NULL OR a.createdAt < :to)
+            ORDER BY a.id""")
+    Stream<ExportRowView> streamForExport(@Param("status") ApplicationStatus status,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to);
+
+    interface QueuedView {
+        Long getId();
+
+        Long getClientId();
+    }
+
+    interface ExportRowView {
+        Long getId();
+
+        String getClientName();
+
+        String getPassport();
+
+        BigDecimal getIncome();
+
+        BigDecimal getRequestedLimit();
+
+        BigDecimal getFinalApprovedLimit();
+
+        Integer getScore();
+
+        Integer getTermMonths();
+
+        ApplicationStatus getStatus();
+
+        LocalDateTime getCreatedAt();
+    }
+}
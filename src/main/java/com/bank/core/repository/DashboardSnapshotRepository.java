@@ -0,0 +1,43 @@
+package com.bank.core.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class DashboardSnapshotRepository {
+
+    // Older versions never overwrite newer ones, so out-of-order rebuilds are harmless.
+    private static final String UPSERT = """
+            INSERT INTO client_dashboard_snapshots (client_id, version, payload, updated_at) VALUES (?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                payload = IF(VALUES(version) > version, VALUES(payload), payload),
+                updated_at = IF(VALUES(version) > version, VALUES(updated_at), updated_at),
+                version = GREATEST(version, VALUES(version))""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void save(Long clientId, long version, String payload) {
+        jdbcTemplate.update(UPSERT, clientId, version, payload, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    public void delete(Long clientId) {
+        jdbcTemplate.update("DELETE FROM client_dashboard_snapshots WHERE client_id = ?", clientId);
+    }
+
+    public Optional<StoredSnapshot> find(Long clientId) {
+        List<StoredSnapshot> rows = jdbcTemplate.query(
+                "SELECT version, payload FROM client_dashboard_snapshots WHERE client_id = ?",
+                (rs, rowNum) -> new StoredSnapshot(rs.getLong("version"), rs.getString("payload")), clientId);
+        return rows.stream().findFirst();
+    }
+
+    public record StoredSnapshot(long version, String payload) {
+    }
+}
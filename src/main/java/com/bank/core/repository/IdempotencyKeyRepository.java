@@ -0,0 +1,44 @@
+package com.bank.core.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyKeyRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertPlaceholder(String key, String requestHash, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO idempotency_keys (idempotency_key, request_hash, created_at) VALUES (?, ?, ?)",
+                key, requestHash, Timestamp.valueOf(createdAt));
+    }
+
+    public void saveResponse(String key, String responseBody) {
+        jdbcTemplate.update("UPDATE idempotency_keys SET response_body = ? WHERE idempotency_key = ?", responseBody, key);
+    }
+
+    /**
+     * The stored request hash and response; the response is {@code null} while the first request is still running.
+     */
+    public Optional<StoredRequest> find(String key) {
+        List<StoredRequest> stored = jdbcTemplate.query(
+                "SELECT request_hash, response_body, created_at FROM idempotency_keys WHERE idempotency_key = ?",
+                (rs, rowNum) -> new StoredRequest(rs.getString("request_hash"), rs.getString("response_body"),
+                        rs.getTimestamp("created_at").toLocalDateTime()), key);
+        return stored.stream().findFirst();
+    }
+
+    public int deleteOlderThan(LocalDateTime threshold) {
+        return jdbcTemplate.update("DELETE FROM idempotency_keys WHERE created_at < ?", Timestamp.valueOf(threshold));
+    }
+
+    public record StoredRequest(String requestHash, String responseBody, LocalDateTime createdAt) {
+    }
+}
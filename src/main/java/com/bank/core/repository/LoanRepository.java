@@ -2,11 +2,39 @@ package com.bank.core.repository;
 
 import com.bank.core.domain.Loan;
 import com.bank.core.domain.enums.LoanStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface LoanRepository extends JpaRepository<Loan, Long> {
     List<Loan> findByClientId(Long clientId);
 
     List<Loan> findByClientIdAndStatus(Long clientId, LoanStatus status);
-}
\ No newline at end of file
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM Loan l WHERE l.id = :id")
+    Optional<Loan> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("""
+            SELECT l.client.id AS clientId, COUNT(l) AS loanCount, SUM(l.monthlyPayment) AS totalMonthlyPayment
+            FROM Loan l
+            WHERE l.client.id IN :clientIds AND l.status = :status
+            GROUP BY l.client.id""")
+    List<LoanLoadView> summarizeByClientIdIn(@Param("clientIds") Collection<Long> clientIds,
+                                             @Param("status") LoanStatus status);
+
+    interface LoanLoadView {
+        Long getClientId();
+
+        Long getLoanCount();
+
+        BigDecimal getTotalMonthlyPayment();
+    }
+}
@@ -0,0 +1,169 @@
+package com.bank.core.repository;
+
+import com.bank.core.domain.LoanScheduleCalculator.Row;
+import com.bank.core.domain.Money;
+import com.bank.core.domain.enums.LoanStatus;
+import com.bank.core.domain.enums.RepaymentType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class LoanScheduleJdbcRepository {
+
+    private static final String SELECT_SCHEDULE = """
+            SELECT loan_id, seq, due_date, principal_minor, interest_minor, paid_minor
+            FROM loan_installments WHERE loan_id = ? ORDER BY seq""";
+
+    private static final String SELECT_SCHEDULE_RANGE = """
+            SELECT loan_id, seq, due_date, principal_minor, interest_minor, paid_minor
+            FROM loan_installments WHERE loan_id > ? AND loan_id <= ? ORDER BY loan_id, seq""";
+
+    private static final String LOCK_ACTIVE_CHUNK = """
+            SELECT id, client_id, principal_amount, total_amount_to_repay, remaining_debt,
+                   repayment_type, start_date, end_date
+            FROM loans WHERE status = 'ACTIVE' AND id > ? ORDER BY id LIMIT ? FOR UPDATE""";
+
+    private static final String EXISTS_ACTIVE_WITHOUT_SCHEDULE = """
+            SELECT EXISTS (SELECT 1 FROM loans l WHERE l.status = 'ACTIVE' AND l.start_date IS NOT NULL
+                           AND l.end_date IS NOT NULL AND NOT EXISTS (SELECT 1 FROM loan_installments i WHERE i.loan_id = l.id))""";
+
+    private static final String DELETE_TAIL = "DELETE FROM loan_installments WHERE loan_id = ? AND seq > ?";
+
+    private static final String INSERT_ROW = """
+            INSERT INTO loan_installments (loan_id, seq, due_date, principal_minor, interest_minor, paid_minor, settled)
+            VALUES (?, ?, ?, ?, ?, ?, ?)""";
+
+    private static final String UPDATE_PAID =
+            "UPDATE loan_installments SET paid_minor = ?, settled = ? WHERE loan_id = ? AND seq = ?";
+
+    private static final String UPDATE_LOAN = """
+            UPDATE loans SET interest_rate = ?, total_amount_to_repay = ?, remaining_debt = ?, monthly_payment = ?, status = ?
+            WHERE id = ?""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<Row> findSchedule(long loanId) {
+        return jdbcTemplate.query(SELECT_SCHEDULE, (rs, rowNum) -> mapRow(rs), loanId);
+    }
+
+    /**
+     * Schedules of every loan with an id in {@code (afterLoanId, lastLoanId]}, in one range scan of the primary key.
+     */
+    public Map<Long, List<Row>> findSchedules(long afterLoanId, long lastLoanId) {
+        Map<Long, List<Row>> schedules = new HashMap<>();
+        jdbcTemplate.query(SELECT_SCHEDULE_RANGE, rs -> {
+            schedules.computeIfAbsent(rs.getLong("loan_id"), id -> new ArrayList<>()).add(mapRow(rs));
+        }, afterLoanId, lastLoanId);
+        return schedules;
+    }
+
+    /**
+     * The next chunk of active loans, locked until the surrounding transaction ends so payments wait for it.
+     */
+    public List<LoanTerms> lockActiveChunk(long afterLoanId, int limit) {
+        return jdbcTemplate.query(LOCK_ACTIVE_CHUNK, (rs, rowNum) -> {
+            String type = rs.getString("repayment_type");
+            return new LoanTerms(
+                    rs.getLong("id"),
+                    rs.getLong("client_id"),
+                    Money.toMinor(rs.getBigDecimal("principal_amount"), RoundingMode.HALF_UP),
+                    Money.toMinor(rs.getBigDecimal("total_amount_to_repay"), RoundingMode.HALF_UP),
+                    Money.toMinor(rs.getBigDecimal("remaining_debt"), RoundingMode.HALF_UP),
+                    type != null ? RepaymentType.valueOf(type) : RepaymentType.ANNUITY,
+                    toLocalDate(rs.getDate("start_date")),
+                    toLocalDate(rs.getDate("end_date")));
+        }, afterLoanId, limit);
+    }
+
+    public boolean existsActiveLoanWithoutSchedule() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(EXISTS_ACTIVE_WITHOUT_SCHEDULE, Boolean.class));
+    }
+
+    /**
+     * Replaces the installments after the kept ones and writes the loan totals, each step as one JDBC batch.
+     */
+    public void saveSchedules(List<ScheduleWrite> writes) {
+        if (writes.isEmpty()) return;
+
+        jdbcTemplate.batchUpdate(DELETE_TAIL, writes, writes.size(), (ps, write) -> {
+            ps.setLong(1, write.loanId());
+            ps.setInt(2, write.keptRows());
+        });
+
+        List<Object[]> inserts = new ArrayList<>();
+        for (ScheduleWrite write : writes) {
+            for (Row row : write.rows().subList(write.keptRows(), write.rows().size())) {
+                inserts.add(new Object[]{write.loanId(), row.seq(), Date.valueOf(row.dueDate()),
+                        row.principalMinor(), row.interestMinor(), row.paidMinor(), row.settled()});
+            }
+        }
+        if (!inserts.isEmpty()) jdbcTemplate.batchUpdate(INSERT_ROW, inserts);
+
+        jdbcTemplate.batchUpdate(UPDATE_LOAN, writes, writes.size(), (ps, write) -> {
+            ps.setBigDecimal(1, BigDecimal.valueOf(write.annualRateBp(), 4));
+            ps.setBigDecimal(2, Money.ofMinor(write.totalMinor()).toBigDecimal());
+            ps.setBigDecimal(3, Money.ofMinor(write.remainingMinor()).toBigDecimal());
+            ps.setBigDecimal(4, Money.ofMinor(write.monthlyPaymentMinor()).toBigDecimal());
+            ps.setString(5, write.status().name());
+            ps.setLong(6, write.loanId());
+        });
+    }
+
+    public void insertRows(long loanId, List<Row> rows) {
+        if (rows.isEmpty()) return;
+
+        jdbcTemplate.batchUpdate(INSERT_ROW, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, loanId);
+            ps.setInt(2, row.seq());
+            ps.setDate(3, Date.valueOf(row.dueDate()));
+            ps.setLong(4, row.principalMinor());
+            ps.setLong(5, row.interestMinor());
+            ps.setLong(6, row.paidMinor());
+            ps.setBoolean(7, row.settled());
+        });
+    }
+
+    public void updatePaid(long loanId, List<Row> rows) {
+        if (rows.isEmpty()) return;
+
+        jdbcTemplate.batchUpdate(UPDATE_PAID, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, row.paidMinor());
+            ps.setBoolean(2, row.settled());
+            ps.setLong(3, loanId);
+            ps.setInt(4, row.seq());
+        });
+    }
+
+    private static Row mapRow(ResultSet rs) throws SQLException {
+        return new Row(rs.getInt("seq"), rs.getDate("due_date").toLocalDate(), rs.getLong("principal_minor"),
+                rs.getLong("interest_minor"), rs.getLong("paid_minor"));
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date != null ? date.toLocalDate() : null;
+    }
+
+    public record LoanTerms(long id, long clientId, long principalMinor, long totalMinor, long remainingMinor,
+                            RepaymentType repaymentType, LocalDate startDate, LocalDate endDate) {
+    }
+
+    /**
+     * A full schedule of which the first {@code keptRows} rows are already stored and stay untouched.
+     */
+    public record ScheduleWrite(long loanId, int keptRows, List<Row> rows, long annualRateBp,
+                                long totalMinor, long remainingMinor, long monthlyPaymentMinor, LoanStatus status) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.bank.core.repository;
+
+import com.bank.core.domain.LoyaltyOutboxEvent;
+import com.bank.core.domain.enums.OutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface LoyaltyOutboxRepository extends JpaRepository<LoyaltyOutboxEvent, Long> {
+
+    List<LoyaltyOutboxEvent> findByStatusOrderByIdAsc(OutboxStatus status, Pageable pageable);
+
+    long countByStatus(OutboxStatus status);
+
+    @Query("SELECT MIN(e.createdAt) FROM LoyaltyOutboxEvent e WHERE e.status = :status")
+    Optional<LocalDateTime> findOldestCreatedAtByStatus(@Param("status") OutboxStatus status);
+
+    @Modifying
+    @Query("UPDATE LoyaltyOutboxEvent e SET e.status = com.bank.core.domain.enums.OutboxStatus.PROCESSED, e.processedAt = :now " +
+            "WHERE e.id = :id AND e.status = com.bank.core.domain.enums.OutboxStatus.PENDING")
+    int markProcessed(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * MySQL evaluates single-table SET assignments left to right, so the status is decided before the increment.
+     */
+    @Modifying
+    @Query("UPDATE LoyaltyOutboxEvent e SET " +
+            "e.status = CASE WHEN e.attempts + 1 >= :maxAttempts THEN com.bank.core.domain.enums.OutboxStatus.FAILED " +
+            "ELSE com.bank.core.domain.enums.OutboxStatus.PENDING END, " +
+            "e.attempts = e.attempts + 1, e.lastError = :error " +
+            "WHERE e.id = :id AND e.status = com.bank.core.domain.enums.OutboxStatus.PENDING")
+    int registerFailure(@Param("id") Long id, @Param("error") String error, @Param("maxAttempts") int maxAttempts);
+}
@@ -0,0 +1,13 @@
+package com.bank.core.repository;
+
+import com.bank.core.domain.RescoringRun;
+import com.bank.core.domain.enums.RescoringStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface RescoringRunRepository extends JpaRepository<RescoringRun, Long> {
+    Optional<RescoringRun> findFirstByStatusOrderByIdDesc(RescoringStatus status);
+
+    Optional<RescoringRun> findFirstByOrderByIdDesc();
+}
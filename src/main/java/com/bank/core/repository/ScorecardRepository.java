@@ -0,0 +1,29 @@
+package com.bank.core.repository;
+
+import com.bank.core.domain.Scorecard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ScorecardRepository extends JpaRepository<Scorecard, Long> {
+    Optional<Scorecard> findFirstByActiveTrueOrderByVersionDesc();
+
+    Optional<Scorecard> findByVersion(Long version);
+
+    List<Scorecard> findAllByOrderByVersionDesc();
+
+    @Query("SELECT COALESCE(MAX(s.version), 0) FROM Scorecard s")
+    long findMaxVersion();
+
+    /**
+     * Makes {@code version} the only active scorecard in one statement, also when it is already active.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Scorecard s SET s.active = CASE WHEN s.version = :version THEN true ELSE false END " +
+            "WHERE s.active = true OR s.version = :version")
+    int activateOnly(@Param("version") Long version);
+}
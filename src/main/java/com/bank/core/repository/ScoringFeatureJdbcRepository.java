@@ -0,0 +1,59 @@
+package com.bank.core.repository;
+
+import com.bank.core.domain.Money;
+import com.bank.core.domain.enums.RiskClass;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+@Repository
+@RequiredArgsConstructor
+public class ScoringFeatureJdbcRepository {
+
+    private static final String SELECT_FEATURES = """
+            SELECT c.id, c.monthly_income, c.birth_date, c.employment_start_date, c.marital_status,
+                   c.credit_history_score, c.risk_class, l.loan_count, l.monthly_payments
+            FROM clients c
+            LEFT JOIN (SELECT client_id, COUNT(*) AS loan_count, SUM(monthly_payment) AS monthly_payments
+                       FROM loans WHERE status = 'ACTIVE' GROUP BY client_id) l ON l.client_id = c.id""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Streams the scoring features of every client, with the active loan load aggregated in the same query.
+     */
+    public void forEachFeatureRow(Consumer<FeatureRow> consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_FEATURES, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE);
+            return ps;
+        }, rs -> {
+            Date employment = rs.getDate("employment_start_date");
+            String riskClass = rs.getString("risk_class");
+            BigDecimal payments = rs.getBigDecimal("monthly_payments");
+            consumer.accept(new FeatureRow(
+                    rs.getLong("id"),
+                    Money.toMinor(rs.getBigDecimal("monthly_income"), RoundingMode.HALF_UP),
+                    rs.getDate("birth_date").toLocalDate(),
+                    employment != null ? employment.toLocalDate() : null,
+                    rs.getString("marital_status"),
+                    rs.getInt("credit_history_score"),
+                    riskClass != null ? RiskClass.valueOf(riskClass) : RiskClass.NONE,
+                    rs.getLong("loan_count"),
+                    payments != null ? Money.toMinor(payments, RoundingMode.HALF_UP) : 0));
+        });
+    }
+
+    public record FeatureRow(long clientId, long incomeMinor, LocalDate birthDate, LocalDate employmentStartDate,
+                             String maritalStatus, int creditHistoryScore, RiskClass riskClass,
+                             long activeLoans, long monthlyPaymentsMinor) {
+    }
+}
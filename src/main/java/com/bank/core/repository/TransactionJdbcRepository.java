@@ -0,0 +1,94 @@
+package com.bank.core.repository;
+
+import com.bank.core.domain.Money;
+import com.bank.core.domain.Transaction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class TransactionJdbcRepository {
+
+    private static final String INSERT_TRANSACTION =
+            "INSERT INTO transactions (card_id, amount, mcc_code, description, status, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_LOYALTY_EVENT =
+            "INSERT INTO loyalty_outbox (transaction_id, card_id, amount, mcc_code, status, attempts, created_at) VALUES (?, ?, ?, ?, 'PENDING', 0, ?)";
+
+    private static final String UPDATE_BALANCE =
+            "UPDATE cards SET balance = ?, version = version + 1 WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<Transaction> transactions) {
+        if (transactions.isEmpty()) return;
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_TRANSACTION, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Transaction t = transactions.get(i);
+                        ps.setLong(1, t.getCard().getId());
+                        ps.setBigDecimal(2, t.getAmount());
+                        ps.setString(3, t.getMccCode());
+                        ps.setString(4, t.getDescription());
+                        ps.setString(5, t.getStatus().name());
+                        ps.setTimestamp(6, Timestamp.valueOf(t.getCreatedAt()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return transactions.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < transactions.size(); i++) {
+            transactions.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+        }
+    }
+
+    public void insertLoyaltyEvents(List<Transaction> transactions) {
+        if (transactions.isEmpty()) return;
+
+        jdbcTemplate.batchUpdate(INSERT_LOYALTY_EVENT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Transaction t = transactions.get(i);
+                ps.setLong(1, t.getId());
+                ps.setLong(2, t.getCard().getId());
+                ps.setBigDecimal(3, t.getAmount());
+                ps.setString(4, t.getMccCode());
+                ps.setTimestamp(5, Timestamp.valueOf(t.getCreatedAt()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return transactions.size();
+            }
+        });
+    }
+
+    public void updateBalances(Map<Long, Money> balances) {
+        if (balances.isEmpty()) return;
+
+        List<Object[]> args = new ArrayList<>(balances.size());
+        balances.forEach((cardId, balance) -> args.add(new Object[]{balance.toBigDecimal(), cardId}));
+        jdbcTemplate.batchUpdate(UPDATE_BALANCE, args);
+    }
+}
@@ -1,13 +1,56 @@
 package com.bank.core.repository;
 
 import com.bank.core.domain.Transaction;
+import com.bank.core.dto.TransactionHistoryDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
-    @Query("SELECT t FROM Transaction t WHERE t.card.client.id = :clientId ORDER BY t.createdAt DESC")
-    List<Transaction> findAllByClientId(@Param("clientId") Long clientId);
-}
\ No newline at end of file
+    @Query("""
+            SELECT new com.bank.core.dto.TransactionHistoryDTO(
+                t.id, CONCAT('**** ', SUBSTRING(c.cardNumber, 13)), t.amount, t.mccCode,
+                COALESCE(t.description, 'Покупка'), t.status, t.createdAt)
+            FROM Transaction t JOIN t.card c
+            WHERE c.client.id = :clientId
+              AND (:from IS NULL OR t.createdAt >= :from)
+              AND (:to IS NULL OR t.createdAt < :to)
+              AND (:mccCode IS NULL OR t.mccCode = :mccCode)
+              AND (:cursorAt IS NULL OR t.createdAt < :cursorAt OR (t.createdAt = :cursorAt AND t.id < :cursorId))
+            ORDER BY t.createdAt DESC, t.id DESC""")
+    List<TransactionHistoryDTO> findHistoryPage(@Param("clientId") Long clientId,
+                                                @Param("from") LocalDateTime from,
+                                                @Param("to") LocalDateTime to,
+                                                @Param("mccCode") String mccCode,
+                                                @Param("cursorAt") LocalDateTime cursorAt,
+                                                @Param("cursorId") Long cursorId,
+                                                Pageable pageable);
+
+    // MIN_VALUE makes MySQL Connector/J stream rows one by one instead of buffering the whole result.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+            SELECT new com.bank.core.dto.TransactionHistoryDTO(
+                t.id, CONCAT('**** ', SUBSTRING(c.cardNumber, 13)), t.amount, t.mccCode,
+                COALESCE(t.description, 'Покупка'), t.status, t.createdAt)
+            FROM Transaction t JOIN t.card c
+            WHERE c.client.id = :clientId
+              AND (:from IS NULL OR t.createdAt >= :from)
+              AND (:to IS NULL OR t.createdAt < :to)
+            ORDER BY t.createdAt, t.id""")
+    Stream<TransactionHistoryDTO> streamStatement(@Param("clientId") Long clientId,
+                                                  @Param("from") LocalDateTime from,
+                                                  @Param("to") LocalDateTime to);
+}
@@ -1,9 +1,26 @@
 package com.bank.core.repository;
 
 import com.bank.core.domain.User;
+import com.bank.core.dto.AuthDTOs;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
-}
\ No newline at end of file
+
+    // Prefix-only LIKE keeps the unique username index usable.
+    @Query("""
+            SELECT new com.bank.core.dto.AuthDTOs$UserDTO(u.id, u.username, u.role, u.enabled)
+            FROM User u
+            WHERE (:prefix IS NULL OR u.username LIKE CONCAT(:prefix, '%'))
+              AND (:afterUsername IS NULL OR u.username > :afterUsername)
+            ORDER BY u.username""")
+    List<AuthDTOs.UserDTO> findDirectoryPage(@Param("prefix") String prefix,
+                                             @Param("afterUsername") String afterUsername,
+                                             Pageable pageable);
+}
@@ -0,0 +1,16 @@
+package com.bank.core.security;
+
+import java.security.Principal;
+
+public record AuthenticatedUser(Long id, String username, Long clientId, String role) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public Long requireClientId() {
+        if (clientId == null) throw new RuntimeException("Профиль клиента не найден");
+        return clientId;
+    }
+}
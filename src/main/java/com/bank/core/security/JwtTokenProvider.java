@@ -6,6 +6,7 @@ import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.Optional;
 
 @Component
 public class JwtTokenProvider {
@@ -13,8 +14,12 @@ public class JwtTokenProvider {
     private final String jwtSecret = "9a02115a835ee03d5fb83cd8a468ea33e4090a6a275b269493fcd2e608188e3f";
     private final long jwtExpirationMs = 86400000;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    private final Key signingKey;
+    private final JwtParser parser;
+
+    public JwtTokenProvider() {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
     }
 
     public String generateToken(String username, String role, Long userId, Long clientId) {
@@ -25,26 +30,19 @@ public class JwtTokenProvider {
                 .claim("clientId", clientId)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSigningKey()).build()
-                .parseClaimsJws(token).getBody().getSubject();
-    }
-
-    public String getRoleFromToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSigningKey()).build()
-                .parseClaimsJws(token).getBody().get("role", String.class);
-    }
-
-    public boolean validateToken(String authToken) {
+    public Optional<AuthenticatedUser> authenticate(String token) {
+        Claims claims;
         try {
-            Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(authToken);
-            return true;
+            claims = parser.parseClaimsJws(token).getBody();
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return Optional.empty();
         }
+
+        return Optional.of(new AuthenticatedUser(claims.get("userId", Long.class), claims.getSubject(),
+                claims.get("clientId", Long.class), claims.get("role", String.class)));
     }
-}
\ No newline at end of file
+}
@@ -3,27 +3,47 @@ package com.bank.core.service;
 import com.bank.core.domain.*;
 import com.bank.core.domain.enums.ApplicationStatus;
 import com.bank.core.domain.enums.CardStatus;
+import com.bank.core.domain.enums.SystemParameterKey;
 import com.bank.core.dto.AuthDTOs;
+import com.bank.core.dto.CursorPageDTO;
+import com.bank.core.dto.ScorecardDefinition;
+import com.bank.core.event.ClientDashboardChangedEvent;
+import com.bank.core.event.ClientProfileChangedEvent;
+import com.bank.core.event.LoyaltyRulesChangedEvent;
+import com.bank.core.event.ScorecardChangedEvent;
+import com.bank.core.event.SystemParameterChangedEvent;
 import com.bank.core.repository.*;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class AdminService {
 
+    private static final int MAX_DIRECTORY_PAGE_SIZE = 100;
+    private static final int MAX_PUBLISH_ATTEMPTS = 3;
+
     private final LoyaltyRuleRepository loyaltyRuleRepository;
     private final UserRepository userRepository;
     private final CreditApplicationRepository applicationRepository;
     private final ClientRepository clientRepository;
     private final CardRepository cardRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final SystemParameterRepository systemParameterRepository;
+    private final ScorecardRepository scorecardRepository;
+    private final ScorecardRegistry scorecardRegistry;
+    private final PasswordHashingService passwordHashing;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     private final EmployeeService employeeService;
 
@@ -34,12 +54,85 @@ public class AdminService {
 
     @Transactional
     public LoyaltyRule addLoyaltyRule(LoyaltyRule rule) {
-        return loyaltyRuleRepository.save(rule);
+        LoyaltyRule saved = loyaltyRuleRepository.save(rule);
+        eventPublisher.publishEvent(new LoyaltyRulesChangedEvent(saved.getId()));
+        return saved;
     }
 
     @Transactional
     public void deleteLoyaltyRule(Long id) {
         loyaltyRuleRepository.deleteById(id);
+        eventPublisher.publishEvent(new LoyaltyRulesChangedEvent(id));
+    }
+
+    @Transactional(readOnly = true)
+    public List<SystemParameter> getAllParameters() {
+        return systemParameterRepository.findAll();
+    }
+
+    @Transactional
+    public SystemParameter updateParameter(SystemParameter param) {
+        if (param.getParamKey() == null || param.getParamKey().isBlank()) {
+            throw new RuntimeException("Не указан ключ параметра");
+        }
+        if (param.getParamValue() == null || param.getParamValue().isBlank()) {
+            throw new RuntimeException("Не указано значение параметра");
+        }
+
+        SystemParameterKey key = SystemParameterRegistry.resolveKey(param.getParamKey());
+        if (key != null) {
+            param.setParamValue(SystemParameterRegistry.parse(key, param.getParamValue()).toPlainString());
+            if (param.getDescription() == null) param.setDescription(key.getDescription());
+        }
+
+        SystemParameter saved = systemParameterRepository.save(param);
+        eventPublisher.publishEvent(new SystemParameterChangedEvent(saved.getParamKey(), saved.getParamValue()));
+        return saved;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Scorecard> getScorecards() {
+        return scorecardRepository.findAllByOrderByVersionDesc();
+    }
+
+    /**
+     * Stores the definition as the next version and activates it. Two concurrent publishes may pick the same
+     * version number; the unique constraint rejects the second one and it retries with a fresh number.
+     */
+    public Scorecard publishScorecard(ScorecardDefinition definition, String description) {
+        CompiledScorecard.compile(0, definition);
+        String serialized = scorecardRegistry.serialize(definition);
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    Scorecard scorecard = new Scorecard();
+                    scorecard.setVersion(scorecardRepository.findMaxVersion() + 1);
+                    scorecard.setDefinition(serialized);
+                    scorecard.setDescription(description);
+                    return activate(scorecardRepository.saveAndFlush(scorecard));
+                });
+            } catch (DataIntegrityViolationException e) {
+                if (attempt == MAX_PUBLISH_ATTEMPTS) {
+                    throw new RuntimeException("Не удалось опубликовать скоринговую карту, повторите попытку", e);
+                }
+            }
+        }
+    }
+
+    @Transactional
+    public Scorecard activateScorecard(Long version) {
+        Scorecard scorecard = scorecardRepository.findByVersion(version)
+                .orElseThrow(() -> new RuntimeException("Версия скоринговой карты не найдена"));
+        CompiledScorecard.compile(version, scorecardRegistry.parse(scorecard.getDefinition()));
+        return activate(scorecard);
+    }
+
+    private Scorecard activate(Scorecard scorecard) {
+        scorecardRepository.activateOnly(scorecard.getVersion());
+        scorecard.setActive(true);
+        eventPublisher.publishEvent(new ScorecardChangedEvent(scorecard.getVersion()));
+        return scorecard;
     }
 
     @Transactional(readOnly = true)
@@ -48,15 +141,23 @@ public class AdminService {
     }
 
     @Transactional(readOnly = true)
-    public List<AuthDTOs.UserDTO> getAllUsers() {
-        return userRepository.findAll().stream().map(u -> {
-            AuthDTOs.UserDTO dto = new AuthDTOs.UserDTO();
-            dto.setId(u.getId());
-            dto.setUsername(u.getUsername());
-            dto.setRole(u.getRole());
-            dto.setEnabled(u.isEnabled());
-            return dto;
-        }).collect(Collectors.toList());
+    public CursorPageDTO<AuthDTOs.UserDTO> getUsers(String query, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_DIRECTORY_PAGE_SIZE));
+        String prefix = query != null && !query.isBlank() ? escapeLike(query.trim()) : null;
+        String afterUsername = cursor != null && !cursor.isBlank()
+                ? new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8) : null;
+
+        List<AuthDTOs.UserDTO> rows = userRepository.findDirectoryPage(prefix, afterUsername, PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<AuthDTOs.UserDTO> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(items.get(items.size() - 1).getUsername().getBytes(StandardCharsets.UTF_8)) : null;
+        return new CursorPageDTO<>(items, nextCursor, hasMore);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
     @Transactional
@@ -87,15 +188,15 @@ public class AdminService {
         client.setPassport(newData.getPassport());
         client.setMonthlyIncome(newData.getMonthlyIncome());
         clientRepository.save(client);
+        eventPublisher.publishEvent(ClientDashboardChangedEvent.ofClient(client.getId()));
+        eventPublisher.publishEvent(new ClientProfileChangedEvent(client.getId()));
     }
 
     @Transactional(readOnly = true)
     public List<Card> getUserCards(Long userId) {
         Client client = clientRepository.findByUserId(userId).orElse(null);
         if (client == null) return List.of();
-        return cardRepository.findAll().stream()
-                .filter(c -> c.getClient().getId().equals(client.getId()))
-                .collect(Collectors.toList());
+        return cardRepository.findByClientIdOrderByIdAsc(client.getId());
     }
 
     @Transactional
@@ -104,6 +205,7 @@ public class AdminService {
         if (card.getStatus() == CardStatus.ACTIVE) card.setStatus(CardStatus.BLOCKED);
         else if (card.getStatus() == CardStatus.BLOCKED) card.setStatus(CardStatus.ACTIVE);
         cardRepository.save(card);
+        eventPublisher.publishEvent(ClientDashboardChangedEvent.ofCards(cardId));
     }
 
     @Transactional
@@ -113,7 +215,7 @@ public class AdminService {
         }
         User user = new User();
         user.setUsername(request.getUsername());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashing.encode(request.getPassword()));
         user.setRole(request.getRole() != null ? request.getRole().toUpperCase() : "CLIENT");
         user.setEnabled(true);
         userRepository.save(user);
@@ -129,6 +231,6 @@ public class AdminService {
         applicationRepository.save(app);
 
         int term = app.getTermMonths() != null ? app.getTermMonths() : 12;
-        employeeService.issueProduct(app.getClient(), finalLimit, term);
+        employeeService.issueProduct(app.getClient(), finalLimit, term, app.getRepaymentType());
     }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.bank.core.service;
+
+import com.bank.core.domain.enums.ApplicationStatus;
+import com.bank.core.repository.CreditApplicationRepository;
+import com.bank.core.util.CsvWriter;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class ApplicationExportService {
+
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private final CreditApplicationRepository applicationRepository;
+    private final EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public long writeCsv(ApplicationStatus status, LocalDate from, LocalDate to, OutputStream out) throws IOException {
+        CsvWriter csv = new CsvWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)).writeBom();
+        csv.row("ID", "Client", "Passport", "Income", "Requested", "Approved", "Score", "Term", "Status", "Date");
+
+        long count = 0;
+        try (Stream<CreditApplicationRepository.ExportRowView> rows = applicationRepository.streamForExport(status,
+                from != null ? from.atStartOfDay() : null,
+                to != null ? to.plusDays(1).atStartOfDay() : null)) {
+            Iterator<CreditApplicationRepository.ExportRowView> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                CreditApplicationRepository.ExportRowView app = iterator.next();
+                csv.row(app.getId(),
+                        app.getClientName(),
+                        app.getPassport(),
+                        app.getIncome(),
+                        app.getRequestedLimit(),
+                        app.getFinalApprovedLimit() != null ? app.getFinalApprovedLimit() : "0",
+                        app.getScore(),
+                        app.getTermMonths(),
+                        app.getStatus(),
+                        app.getCreatedAt());
+                if (++count % FLUSH_EVERY_ROWS == 0) csv.flush();
+            }
+        } finally {
+            entityManager.clear();
+        }
+        csv.flush();
+        return count;
+    }
+}
@@ -0,0 +1,261 @@
+package com.bank.core.service;
+
+import com.bank.core.domain.enums.ApplicationStatus;
+import com.bank.core.dto.ApplicationRequestDTO;
+import com.bank.core.dto.ApplicationStatusDTO;
+import com.bank.core.exception.ServiceBusyException;
+import com.bank.core.repository.CreditApplicationRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Queued intake of credit applications. Submissions are stored as QUEUED and answered straight away;
+ * a bounded pool scores them in batches, and callers poll or long-poll the application status.
+ */
+@Service
+public class ApplicationIntakeQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationIntakeQueue.class);
+
+    private final ApplicationService applicationService;
+    private final CreditApplicationRepository applicationRepository;
+    private final ThreadPoolExecutor executor;
+    private final boolean queued;
+    private final int workers;
+    private final int batchSize;
+    private final long maxQueued;
+    private final long maxWaitMillis;
+    private final int maxWaiters;
+
+    /**
+     * Approximate number of QUEUED rows: re-read from the database on every drain, bumped by each submission.
+     */
+    private final AtomicLong depth = new AtomicLong();
+    private final Map<Long, Set<DeferredResult<ApplicationStatusDTO>>> waiters = new ConcurrentHashMap<>();
+    private final AtomicInteger waiterCount = new AtomicInteger();
+
+    private final LongAdder acceptedCount = new LongAdder();
+    private final LongAdder busyRejectedCount = new LongAdder();
+    private final LongAdder processedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder deferredCount = new LongAdder();
+    private final LongAdder lagMillisTotal = new LongAdder();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+    private final AtomicLong lastDrainMillis = new AtomicLong();
+
+    public ApplicationIntakeQueue(ApplicationService applicationService,
+                                  CreditApplicationRepository applicationRepository,
+                                  @Value("${bank.applications.intake.mode:sync}") String mode,
+                                  @Value("${bank.applications.intake.workers:4}") int workers,
+                                  @Value("${bank.applications.intake.batch-size:50}") int batchSize,
+                                  @Value("${bank.applications.intake.max-queued:10000}") long maxQueued,
+                                  @Value("${bank.applications.intake.max-wait-ms:30000}") long maxWaitMillis,
+                                  @Value("${bank.applications.intake.max-waiters:10000}") int maxWaiters) {
+        this.applicationService = applicationService;
+        this.applicationRepository = applicationRepository;
+        this.queued = "queued".equalsIgnoreCase(mode);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.maxQueued = maxQueued;
+        this.maxWaitMillis = maxWaitMillis;
+        this.maxWaiters = maxWaiters;
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workers), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public boolean isQueued() {
+        return queued;
+    }
+
+    public ApplicationStatusDTO submit(ApplicationRequestDTO request) {
+        if (depth.incrementAndGet() > maxQueued) {
+            depth.decrementAndGet();
+            busyRejectedCount.increment();
+            throw new ServiceBusyException("Очередь заявок переполнена, повторите попытку позже");
+        }
+        try {
+            ApplicationStatusDTO status = applicationService.enqueue(request);
+            acceptedCount.increment();
+            return status;
+        } catch (RuntimeException e) {
+            depth.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Scores one page of queued applications per tick, so that a backlog does not hold the shared scheduler
+     * thread away from the other scheduled jobs; the next page follows after the poll interval.
+     */
+    @Scheduled(fixedDelayString = "${bank.applications.intake.poll-interval-ms:200}")
+    public void drain() {
+        if (!queued) return;
+        long started = System.nanoTime();
+        depth.set(applicationRepository.countByStatus(ApplicationStatus.QUEUED));
+        List<CreditApplicationRepository.QueuedView> page =
+                applicationRepository.findQueuedByStatus(ApplicationStatus.QUEUED, PageRequest.of(0, batchSize * workers));
+        if (!page.isEmpty()) process(batchesByClient(page));
+        lastDrainMillis.set(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    /**
+     * Splits a page into batches without spreading one client over two batches, so that batches running
+     * in parallel never wait on each other's client locks.
+     */
+    private List<List<Long>> batchesByClient(List<CreditApplicationRepository.QueuedView> page) {
+        Map<Long, List<Long>> byClient = page.stream().collect(Collectors.groupingBy(
+                CreditApplicationRepository.QueuedView::getClientId, TreeMap::new,
+                Collectors.mapping(CreditApplicationRepository.QueuedView::getId, Collectors.toList())));
+
+        List<List<Long>> batches = new ArrayList<>();
+        List<Long> batch = new ArrayList<>();
+        for (List<Long> clientIds : byClient.values()) {
+            if (!batch.isEmpty() && batch.size() + clientIds.size() > batchSize) {
+                batches.add(batch);
+                batch = new ArrayList<>();
+            }
+            batch.addAll(clientIds);
+        }
+        if (!batch.isEmpty()) batches.add(batch);
+        return batches;
+    }
+
+    private void process(List<List<Long>> batches) {
+        List<Future<?>> futures = new ArrayList<>(batches.size());
+        for (List<Long> batch : batches) {
+            futures.add(executor.submit(() -> processBatch(batch)));
+        }
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                logger.error("Application intake batch failed", e.getCause());
+            }
+        }
+    }
+
+    private void processBatch(List<Long> batch) {
+        try {
+            applicationService.processQueued(batch).forEach(this::recordProcessed);
+        } catch (RuntimeException batchError) {
+            for (Long id : batch) {
+                try {
+                    applicationService.processQueued(List.of(id)).forEach(this::recordProcessed);
+                } catch (RuntimeException e) {
+                    if (isTransient(e)) {
+                        logger.warn("Queued application {} left for the next drain: {}", id, e.getMessage());
+                        deferredCount.increment();
+                        continue;
+                    }
+                    logger.warn("Queued application {} could not be scored: {}", id, e.getMessage());
+                    failedCount.increment();
+                    complete(applicationService.rejectQueued(id, String.valueOf(e.getMessage())));
+                }
+            }
+        }
+    }
+
+    /**
+     * Lock timeouts, deadlocks and lost connections: the application stays QUEUED and the next drain retries it.
+     */
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException || e instanceof RecoverableDataAccessException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    private void recordProcessed(ApplicationStatusDTO status) {
+        long lag = Math.max(0, Duration.between(status.getCreatedAt(), status.getProcessedAt()).toMillis());
+        processedCount.increment();
+        lagMillisTotal.add(lag);
+        maxLagMillis.accumulateAndGet(lag, Math::max);
+        complete(status);
+    }
+
+    private void complete(ApplicationStatusDTO status) {
+        depth.decrementAndGet();
+        Set<DeferredResult<ApplicationStatusDTO>> pending = waiters.remove(status.getId());
+        if (pending != null) pending.forEach(result -> result.setResult(status));
+    }
+
+    /**
+     * Answers at once when the application is already scored, {@code waitMillis} is zero or too many
+     * requests are parked; otherwise holds the request until the worker finishes it or the wait runs out.
+     */
+    public DeferredResult<ApplicationStatusDTO> awaitStatus(Long applicationId, Long clientId, long waitMillis) {
+        ApplicationStatusDTO status = applicationService.getStatus(applicationId, clientId);
+        if (waitMillis <= 0 || !isQueued(status)) return completed(status);
+        if (waiterCount.incrementAndGet() > maxWaiters) {
+            waiterCount.decrementAndGet();
+            return completed(status);
+        }
+
+        DeferredResult<ApplicationStatusDTO> result = new DeferredResult<>(Math.min(waitMillis, maxWaitMillis));
+        result.onTimeout(() -> result.setResult(applicationService.getStatus(applicationId, clientId)));
+        result.onCompletion(() -> {
+            waiterCount.decrementAndGet();
+            waiters.computeIfPresent(applicationId, (id, parked) -> {
+                parked.remove(result);
+                return parked.isEmpty() ? null : parked;
+            });
+        });
+        waiters.computeIfAbsent(applicationId, id -> ConcurrentHashMap.newKeySet()).add(result);
+
+        // the worker may have finished between the first read and registration
+        ApplicationStatusDTO latest = applicationService.getStatus(applicationId, clientId);
+        if (!isQueued(latest)) result.setResult(latest);
+        return result;
+    }
+
+    private static boolean isQueued(ApplicationStatusDTO status) {
+        return ApplicationStatus.QUEUED.name().equals(status.getStatus());
+    }
+
+    private static DeferredResult<ApplicationStatusDTO> completed(ApplicationStatusDTO status) {
+        DeferredResult<ApplicationStatusDTO> result = new DeferredResult<>();
+        result.setResult(status);
+        return result;
+    }
+
+    public Map<String, Object> getStats() {
+        long processed = processedCount.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("mode", queued ? "queued" : "sync");
+        stats.put("queued", applicationRepository.countByStatus(ApplicationStatus.QUEUED));
+        stats.put("acceptedSinceStart", acceptedCount.sum());
+        stats.put("rejectedBusySinceStart", busyRejectedCount.sum());
+        stats.put("processedSinceStart", processed);
+        stats.put("failuresSinceStart", failedCount.sum());
+        stats.put("deferredSinceStart", deferredCount.sum());
+        stats.put("avgLagMs", processed == 0 ? 0 : lagMillisTotal.sum() / processed);
+        stats.put("maxLagMs", maxLagMillis.get());
+        stats.put("lastDrainMs", lastDrainMillis.get());
+        stats.put("parkedStatusRequests", waiterCount.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -3,25 +3,40 @@ package com.bank.core.service;
 import com.bank.core.domain.Client;
 import com.bank.core.domain.CreditApplication;
 import com.bank.core.domain.enums.ApplicationStatus;
-import com.bank.core.domain.enums.RiskClass;
+import com.bank.core.domain.enums.RepaymentType;
 import com.bank.core.dto.ApplicationRequestDTO;
+import com.bank.core.dto.ApplicationStatusDTO;
 import com.bank.core.dto.ScoringResultDTO;
+import com.bank.core.event.ClientDashboardChangedEvent;
+import com.bank.core.event.ClientProfileChangedEvent;
 import com.bank.core.repository.ClientRepository;
 import com.bank.core.repository.CreditApplicationRepository;
+import com.bank.core.repository.LoanRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ApplicationService {
 
+    private static final int MAX_MESSAGE_LENGTH = 255;
+
     private final ScoringService scoringService;
     private final CreditApplicationRepository applicationRepository;
     private final ClientRepository clientRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public String processApplication(ApplicationRequestDTO request) {
@@ -30,15 +45,102 @@ public class ApplicationService {
 
         ScoringResultDTO scoringResult = scoringService.calculate(request, client);
 
-        client.setCreditHistoryScore(scoringResult.getScore());
-        client.setRiskClass(scoringResult.getRiskClass());
+        CreditApplication app = newApplication(client, request);
+        applyScoring(app, client, scoringResult);
         clientRepository.save(client);
+        applicationRepository.save(app);
+        publishScoreChanged(Set.of(client.getId()));
+
+        return app.getDecisionMessage();
+    }
+
+    /**
+     * Stores the request for the intake worker; scoring happens later in {@link #processQueued}.
+     */
+    @Transactional
+    public ApplicationStatusDTO enqueue(ApplicationRequestDTO request) {
+        if (!clientRepository.existsById(request.getClientId())) throw new RuntimeException("Клиент не найден");
+
+        CreditApplication app = newApplication(clientRepository.getReferenceById(request.getClientId()), request);
+        app.setStatus(ApplicationStatus.QUEUED);
+        applicationRepository.save(app);
+        return toStatus(app);
+    }
+
+    /**
+     * Scores a batch of queued applications in one transaction: the applications and their clients are
+     * locked together and active loans for every client in the batch are loaded with one grouped query.
+     */
+    @Transactional
+    public List<ApplicationStatusDTO> processQueued(Collection<Long> applicationIds) {
+        List<CreditApplication> apps = applicationRepository.lockByIdInAndStatus(applicationIds, ApplicationStatus.QUEUED);
+        if (apps.isEmpty()) return List.of();
+
+        Set<Long> clientIds = apps.stream().map(app -> app.getClient().getId()).collect(Collectors.toSet());
+        Map<Long, LoanRepository.LoanLoadView> loads = scoringService.loadActiveLoans(clientIds);
+
+        List<ApplicationStatusDTO> processed = new ArrayList<>(apps.size());
+        for (CreditApplication app : apps) {
+            Client client = app.getClient();
+            ScoringResultDTO scoringResult = scoringService.calculate(client,
+                    Boolean.TRUE.equals(app.getHasDelinquency()), loads.get(client.getId()));
+            applyScoring(app, client, scoringResult);
+            processed.add(toStatus(app));
+        }
+        publishScoreChanged(clientIds);
+        return processed;
+    }
+
+    /**
+     * Closes a queued application that cannot be scored so that it does not block the queue.
+     */
+    @Transactional
+    public ApplicationStatusDTO rejectQueued(Long applicationId, String reason) {
+        List<CreditApplication> apps = applicationRepository.lockByIdInAndStatus(List.of(applicationId), ApplicationStatus.QUEUED);
+        if (apps.isEmpty()) return getStatus(applicationId, null);
+
+        CreditApplication app = apps.get(0);
+        String message = "Заявка не может быть обработана: " + reason;
+        app.setStatus(ApplicationStatus.REJECTED);
+        app.setDecisionMessage(message.length() > MAX_MESSAGE_LENGTH ? message.substring(0, MAX_MESSAGE_LENGTH) : message);
+        app.setProcessedAt(LocalDateTime.now());
+        return toStatus(app);
+    }
+
+    /**
+     * @param clientId when set, only that client's applications are visible
+     */
+    @Transactional(readOnly = true)
+    public ApplicationStatusDTO getStatus(Long applicationId, Long clientId) {
+        return applicationRepository.findStatusById(applicationId)
+                .filter(status -> clientId == null || Objects.equals(clientId, status.getClientId()))
+                .orElseThrow(() -> new RuntimeException("Заявка не найдена"));
+    }
+
+    /**
+     * Scoring rewrites the client's score and risk class; the dashboard and directory listeners refresh after commit.
+     */
+    private void publishScoreChanged(Set<Long> clientIds) {
+        eventPublisher.publishEvent(new ClientDashboardChangedEvent(clientIds, Set.of()));
+        clientIds.forEach(clientId -> eventPublisher.publishEvent(new ClientProfileChangedEvent(clientId)));
+    }
 
+    private static CreditApplication newApplication(Client client, ApplicationRequestDTO request) {
         CreditApplication app = new CreditApplication();
         app.setClient(client);
         app.setRequestedLimit(request.getRequestedLimit());
-        app.setCalculatedScore(scoringResult.getScore());
+        app.setTermMonths(request.getTermMonths());
+        app.setRepaymentType(request.getRepaymentType() != null ? request.getRepaymentType() : RepaymentType.ANNUITY);
+        app.setHasDelinquency(request.isHasDelinquency());
+        app.setCreatedAt(LocalDateTime.now());
+        return app;
+    }
 
+    private static void applyScoring(CreditApplication app, Client client, ScoringResultDTO scoringResult) {
+        client.setCreditHistoryScore(scoringResult.getScore());
+        client.setRiskClass(scoringResult.getRiskClass());
+
+        app.setCalculatedScore(scoringResult.getScore());
         app.setApprovedMinLimit(scoringResult.getMinLimit());
         app.setApprovedMaxLimit(scoringResult.getMaxLimit());
 
@@ -48,19 +150,14 @@ public class ApplicationService {
         }
         app.setWorkExperienceYears(years);
 
-        app.setTermMonths(request.getTermMonths());
-
-        if (scoringResult.isApproved()) {
-            app.setStatus(ApplicationStatus.PENDING);
-        } else {
-            app.setStatus(ApplicationStatus.REJECTED);
-        }
-
-        app.setCreatedAt(LocalDateTime.now());
-        applicationRepository.save(app);
+        app.setStatus(scoringResult.isApproved() ? ApplicationStatus.PENDING : ApplicationStatus.REJECTED);
+        app.setDecisionMessage(decisionMessage(app, scoringResult));
+        app.setProcessedAt(LocalDateTime.now());
+    }
 
+    private static String decisionMessage(CreditApplication app, ScoringResultDTO scoringResult) {
         if (scoringResult.isApproved()) {
-            if (request.getRequestedLimit().compareTo(scoringResult.getMaxLimit()) > 0) {
+            if (app.getRequestedLimit().compareTo(scoringResult.getMaxLimit()) > 0) {
                 return String.format("Одобрено с ограничением. Доступно: %s - %s BYN.", scoringResult.getMinLimit(), scoringResult.getMaxLimit());
             } else {
                 return String.format("Предварительно одобрено! Лимит: %s - %s BYN.", scoringResult.getMinLimit(), scoringResult.getMaxLimit());
@@ -69,4 +166,10 @@ public class ApplicationService {
             return "Отказано. Ваш скоринговый балл: " + scoringResult.getScore();
         }
     }
-}
\ No newline at end of file
+
+    private static ApplicationStatusDTO toStatus(CreditApplication app) {
+        return new ApplicationStatusDTO(app.getId(), app.getClient().getId(), app.getStatus(), app.getCalculatedScore(),
+                app.getApprovedMinLimit(), app.getApprovedMaxLimit(), app.getDecisionMessage(),
+                app.getCreatedAt(), app.getProcessedAt());
+    }
+}
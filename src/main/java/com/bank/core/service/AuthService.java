@@ -3,12 +3,14 @@ package com.bank.core.service;
 import com.bank.core.domain.*;
 import com.bank.core.domain.enums.CardStatus;
 import com.bank.core.dto.AuthDTOs;
+import com.bank.core.event.ClientProfileChangedEvent;
+import com.bank.core.exception.ServiceBusyException;
 import com.bank.core.repository.*;
 import com.bank.core.security.JwtTokenProvider;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -22,11 +24,15 @@ public class AuthService {
     private final ClientRepository clientRepository;
     private final BonusAccountRepository bonusAccountRepository;
     private final CardRepository cardRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashing;
     private final JwtTokenProvider tokenProvider;
     private final ScoringService scoringService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
+    /**
+     * The password is hashed before the transaction opens, so a connection is never held through the bcrypt wait.
+     */
     public AuthDTOs.AuthResponse register(AuthDTOs.RegisterRequest request) {
         if (userRepository.findByUsername(request.getUsername()).isPresent()) {
             throw new RuntimeException("Пользователь с таким логином уже существует");
@@ -40,9 +46,14 @@ public class AuthService {
             if (request.getBirthDate() == null) throw new RuntimeException("Дата рождения обязательна");
         }
 
+        String passwordHash = passwordHashing.encode(request.getPassword());
+        return transactionTemplate.execute(status -> persist(request, role, passwordHash));
+    }
+
+    private AuthDTOs.AuthResponse persist(AuthDTOs.RegisterRequest request, String role, String passwordHash) {
         User user = new User();
         user.setUsername(request.getUsername());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHash);
         user.setRole(role);
         user.setEnabled(!"EMPLOYEE".equals(role));
 
@@ -70,6 +81,7 @@ public class AuthService {
             bonusAccountRepository.save(bonusAccount);
 
             createDefaultCard(savedClient);
+            eventPublisher.publishEvent(new ClientProfileChangedEvent(clientId));
         }
 
         if (!savedUser.isEnabled()) {
@@ -97,10 +109,14 @@ public class AuthService {
             throw new RuntimeException("Аккаунт не активирован");
         }
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHashing.matches(request.getPassword(), user.getPassword())) {
             throw new RuntimeException("Неверный пароль");
         }
 
+        if (passwordHashing.needsRehash(user.getPassword())) {
+            rehash(user, request.getPassword());
+        }
+
         Long clientId = null;
         if ("CLIENT".equals(user.getRole())) {
             clientId = clientRepository.findByUserId(user.getId()).map(Client::getId).orElse(null);
@@ -116,6 +132,16 @@ public class AuthService {
         return response;
     }
 
+    private void rehash(User user, String rawPassword) {
+        try {
+            user.setPassword(passwordHashing.encode(rawPassword));
+            userRepository.save(user);
+            passwordHashing.recordRehash();
+        } catch (ServiceBusyException e) {
+            // The old hash is still valid; the upgrade is retried on the next login.
+        }
+    }
+
     private void createDefaultCard(Client client) {
         Card card = new Card();
         card.setClient(client);
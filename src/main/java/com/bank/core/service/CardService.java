@@ -4,14 +4,22 @@ import com.bank.core.domain.Card;
 import com.bank.core.domain.Transaction;
 import com.bank.core.domain.enums.CardStatus;
 import com.bank.core.domain.enums.TransactionStatus;
+import com.bank.core.event.ClientDashboardChangedEvent;
 import com.bank.core.repository.CardRepository;
+import com.bank.core.repository.TransactionJdbcRepository;
 import com.bank.core.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -19,6 +27,8 @@ public class CardService {
 
     private final CardRepository cardRepository;
     private final TransactionRepository transactionRepository;
+    private final TransactionJdbcRepository transactionJdbcRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void toggleBlockCard(Long cardId) {
@@ -30,48 +40,49 @@ public class CardService {
             card.setStatus(CardStatus.ACTIVE);
         }
         cardRepository.save(card);
+        eventPublisher.publishEvent(ClientDashboardChangedEvent.ofCards(cardId));
     }
 
     @Transactional
     public void topUpCard(Long cardId, BigDecimal amount) {
         if (amount.compareTo(BigDecimal.ZERO) <= 0) throw new RuntimeException("Сумма должна быть положительной");
 
-        Card card = cardRepository.findById(cardId)
-                .orElseThrow(() -> new RuntimeException("Карта не найдена"));
-
-        card.setBalance(card.getBalance().add(amount));
-        cardRepository.save(card);
+        if (cardRepository.credit(cardId, amount) == 0) throw new RuntimeException("Карта не найдена");
 
-        recordTransaction(card, amount, "TOPUP", "Пополнение счета");
+        transactionRepository.save(newTransaction(cardRepository.getReferenceById(cardId), amount, "TOPUP", "Пополнение счета"));
+        eventPublisher.publishEvent(ClientDashboardChangedEvent.ofCards(cardId));
     }
 
     @Transactional
     public void p2pTransfer(Long senderCardId, String receiverCardNumber, BigDecimal amount) {
         if (amount.compareTo(BigDecimal.ZERO) <= 0) throw new RuntimeException("Сумма должна быть положительной");
 
-        Card sender = cardRepository.findById(senderCardId)
-                .orElseThrow(() -> new RuntimeException("Карта отправителя не найдена"));
-
-        if (sender.getStatus() != CardStatus.ACTIVE) throw new RuntimeException("Карта отправителя заблокирована");
-        if (sender.getBalance().compareTo(amount) < 0) throw new RuntimeException("Недостаточно средств");
-
         String cleanReceiverNumber = receiverCardNumber.replaceAll("[^0-9]", "");
 
-        Card receiver = cardRepository.findByCardNumber(cleanReceiverNumber)
+        Long receiverCardId = cardRepository.findIdByCardNumber(cleanReceiverNumber)
                 .orElseThrow(() -> new RuntimeException("Карта получателя не найдена (" + cleanReceiverNumber + ")"));
 
-        if (sender.getId().equals(receiver.getId())) throw new RuntimeException("Нельзя перевести самому себе на ту же карту");
+        if (senderCardId.equals(receiverCardId)) throw new RuntimeException("Нельзя перевести самому себе на ту же карту");
+
+        Map<Long, Card> locked = cardRepository.findAllByIdForUpdate(new TreeSet<>(List.of(senderCardId, receiverCardId))).stream()
+                .collect(Collectors.toMap(Card::getId, Function.identity()));
+
+        Card sender = locked.get(senderCardId);
+        if (sender == null) throw new RuntimeException("Карта отправителя не найдена");
+        if (sender.getStatus() != CardStatus.ACTIVE) throw new RuntimeException("Карта отправителя заблокирована");
+
+        if (cardRepository.debitIfSufficient(senderCardId, amount) == 0) throw new RuntimeException("Недостаточно средств");
+        cardRepository.credit(receiverCardId, amount);
 
-        sender.setBalance(sender.getBalance().subtract(amount));
-        cardRepository.save(sender);
-        recordTransaction(sender, amount, "P2P_OUT", "Перевод на карту " + cleanReceiverNumber);
+        String senderName = cardRepository.findHolderNameById(senderCardId).orElse("");
 
-        receiver.setBalance(receiver.getBalance().add(amount));
-        cardRepository.save(receiver);
-        recordTransaction(receiver, amount, "P2P_IN", "Перевод от " + sender.getClient().getFullName());
+        transactionJdbcRepository.insertAll(List.of(
+                newTransaction(sender, amount, "P2P_OUT", "Перевод на карту " + cleanReceiverNumber),
+                newTransaction(locked.get(receiverCardId), amount, "P2P_IN", "Перевод от " + senderName)));
+        eventPublisher.publishEvent(ClientDashboardChangedEvent.ofCards(senderCardId, receiverCardId));
     }
 
-    private void recordTransaction(Card card, BigDecimal amount, String mcc, String desc) {
+    private Transaction newTransaction(Card card, BigDecimal amount, String mcc, String desc) {
         Transaction t = new Transaction();
         t.setCard(card);
         t.setAmount(amount);
@@ -79,6 +90,6 @@ public class CardService {
         t.setDescription(desc);
         t.setStatus(TransactionStatus.COMPLETED);
         t.setCreatedAt(LocalDateTime.now());
-        transactionRepository.save(t);
+        return t;
     }
-}
\ No newline at end of file
+}
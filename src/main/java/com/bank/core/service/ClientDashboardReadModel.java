@@ -0,0 +1,175 @@
+package com.bank.core.service;
+
+import com.bank.core.dto.ClientDashboardDTO;
+import com.bank.core.event.ClientDashboardChangedEvent;
+import com.bank.core.repository.CardRepository;
+import com.bank.core.repository.ClientDashboardJdbcRepository;
+import com.bank.core.repository.DashboardSnapshotRepository;
+import com.bank.core.util.BoundedLruCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+public class ClientDashboardReadModel {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientDashboardReadModel.class);
+
+    private record Entry(long version, ClientDashboardDTO dashboard) {
+    }
+
+    private final ClientDashboardJdbcRepository dashboardRepository;
+    private final DashboardSnapshotRepository snapshotRepository;
+    private final CardRepository cardRepository;
+    private final ObjectMapper objectMapper;
+    private final BoundedLruCache<Long, Entry> entries;
+
+    // Taken before the write tables are read, so a higher version always reflects a later state.
+    private final AtomicLong versions = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    private final LongAdder memoryHits = new LongAdder();
+    private final LongAdder snapshotHits = new LongAdder();
+    private final LongAdder builds = new LongAdder();
+    private final LongAdder eventRefreshes = new LongAdder();
+    private final LongAdder coalescedRefreshes = new LongAdder();
+
+    // Clients with a refresh in flight; TRUE when another change arrived meanwhile and it has to run again.
+    private final ConcurrentHashMap<Long, Boolean> refreshes = new ConcurrentHashMap<>();
+
+    public ClientDashboardReadModel(ClientDashboardJdbcRepository dashboardRepository,
+                                    DashboardSnapshotRepository snapshotRepository,
+                                    CardRepository cardRepository,
+                                    ObjectMapper objectMapper,
+                                    @Value("${bank.dashboard.cache-size:50000}") int cacheSize) {
+        this.dashboardRepository = dashboardRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.cardRepository = cardRepository;
+        this.objectMapper = objectMapper;
+        this.entries = new BoundedLruCache<>(cacheSize);
+    }
+
+    public Optional<ClientDashboardDTO> get(Long clientId) {
+        Entry entry = entries.get(clientId);
+        if (entry != null) {
+            memoryHits.increment();
+            return Optional.of(entry.dashboard());
+        }
+
+        Optional<DashboardSnapshotRepository.StoredSnapshot> stored = snapshotRepository.find(clientId);
+        if (stored.isPresent()) {
+            snapshotHits.increment();
+            ClientDashboardDTO dashboard = read(stored.get().payload());
+            remember(clientId, new Entry(stored.get().version(), dashboard));
+            return Optional.of(dashboard);
+        }
+
+        builds.increment();
+        return rebuild(clientId);
+    }
+
+    /**
+     * Rebuilds are coalesced per client: while one runs, further events for that client only mark it to run
+     * once more, so a burst of purchases costs at most two rebuilds instead of one per purchase.
+     */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDashboardChanged(ClientDashboardChangedEvent event) {
+        Set<Long> clientIds = new HashSet<>(event.clientIds());
+        if (!event.cardIds().isEmpty()) {
+            cardRepository.findOwnersByIdIn(event.cardIds()).forEach(owner -> clientIds.add(owner.getClientId()));
+        }
+        for (Long clientId : clientIds) {
+            eventRefreshes.increment();
+            if (refreshes.compute(clientId, (id, rerun) -> rerun == null ? Boolean.FALSE : Boolean.TRUE)) {
+                coalescedRefreshes.increment();
+                continue;
+            }
+            do {
+                refresh(clientId);
+            } while (refreshes.compute(clientId, (id, rerun) -> rerun ? Boolean.FALSE : null) != null);
+        }
+    }
+
+    private void refresh(Long clientId) {
+        try {
+            rebuild(clientId);
+        } catch (RuntimeException e) {
+            logger.warn("Dashboard read model refresh failed for client {}", clientId, e);
+            invalidate(clientId);
+        }
+    }
+
+    /**
+     * Drops both copies, so that the next read rebuilds from the write tables instead of serving the stale snapshot.
+     */
+    private void invalidate(Long clientId) {
+        entries.remove(clientId);
+        try {
+            snapshotRepository.delete(clientId);
+        } catch (RuntimeException e) {
+            logger.error("Stale dashboard snapshot of client {} could not be removed", clientId, e);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("cached", entries.size());
+        stats.put("memoryHits", memoryHits.sum());
+        stats.put("snapshotHits", snapshotHits.sum());
+        stats.put("builds", builds.sum());
+        stats.put("eventRefreshes", eventRefreshes.sum());
+        stats.put("coalescedRefreshes", coalescedRefreshes.sum());
+        return stats;
+    }
+
+    private Optional<ClientDashboardDTO> rebuild(Long clientId) {
+        long version = versions.incrementAndGet();
+        Optional<ClientDashboardDTO> dashboard = dashboardRepository.findDashboard(clientId);
+        if (dashboard.isEmpty()) {
+            invalidate(clientId);
+            return dashboard;
+        }
+        snapshotRepository.save(clientId, version, write(dashboard.get()));
+        remember(clientId, new Entry(version, dashboard.get()));
+        return dashboard;
+    }
+
+    private void remember(Long clientId, Entry entry) {
+        synchronized (entries) {
+            Entry current = entries.get(clientId);
+            if (current == null || current.version() < entry.version()) {
+                entries.put(clientId, entry);
+            }
+        }
+    }
+
+    private String write(ClientDashboardDTO dashboard) {
+        try {
+            return objectMapper.writeValueAsString(dashboard);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сохранить снимок дашборда", e);
+        }
+    }
+
+    private ClientDashboardDTO read(String payload) {
+        try {
+            return objectMapper.readValue(payload, ClientDashboardDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось восстановить снимок дашборда", e);
+        }
+    }
+}
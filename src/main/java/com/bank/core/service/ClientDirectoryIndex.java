@@ -0,0 +1,204 @@
+package com.bank.core.service;
+
+import com.bank.core.dto.ClientSummaryDTO;
+import com.bank.core.event.ClientProfileChangedEvent;
+import com.bank.core.repository.ClientRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Prefix index over client names and passports for type-ahead search.
+ * Keys are "token \0 clientId", so a prefix lookup is a single ordered range scan of the skip list.
+ * A refresh builds a new directory off to the side and publishes it in one swap; profile changes that
+ * commit while it loads are replayed into it before the swap.
+ */
+@Service
+public class ClientDirectoryIndex {
+
+    private static final char KEY_SEPARATOR = '\u0000';
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    /**
+     * @param keys the client's index keys in key order
+     */
+    private record Entry(ClientSummaryDTO summary, List<String> keys) {
+    }
+
+    private record Directory(ConcurrentSkipListMap<String, Long> keys, ConcurrentHashMap<Long, Entry> entries) {
+
+        Directory() {
+            this(new ConcurrentSkipListMap<>(), new ConcurrentHashMap<>());
+        }
+
+        void put(ClientSummaryDTO summary) {
+            remove(summary.getId());
+            List<String> clientKeys = new ArrayList<>();
+            for (String token : tokens(summary)) {
+                String key = token + KEY_SEPARATOR + summary.getId();
+                keys.put(key, summary.getId());
+                clientKeys.add(key);
+            }
+            Collections.sort(clientKeys);
+            entries.put(summary.getId(), new Entry(summary, List.copyOf(clientKeys)));
+        }
+
+        void remove(Long clientId) {
+            Entry previous = entries.remove(clientId);
+            if (previous != null) previous.keys().forEach(keys::remove);
+        }
+    }
+
+    public record SearchPage(List<ClientSummaryDTO> items, String lastKey) {
+    }
+
+    private final ClientRepository clientRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Directory directory = new Directory();
+    private volatile boolean loaded;
+    private final Object refreshLock = new Object();
+    /**
+     * Clients changed while a refresh streams the table; {@code null} when no refresh is running. Guarded by {@code this}.
+     */
+    private Set<Long> changedDuringLoad;
+
+    private final LongAdder searches = new LongAdder();
+    private final LongAdder searchNanosTotal = new LongAdder();
+    private final AtomicLong updates = new AtomicLong();
+
+    public ClientDirectoryIndex(ClientRepository clientRepository, TransactionTemplate transactionTemplate) {
+        this.clientRepository = clientRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * A client whose several tokens match the prefix is listed once, at its first matching key,
+     * so it does not come back on later pages.
+     */
+    public SearchPage search(String query, String afterKey, int limit) {
+        String prefix = normalize(query);
+        if (prefix.length() < MIN_PREFIX_LENGTH) {
+            throw new RuntimeException("Строка поиска должна содержать не менее " + MIN_PREFIX_LENGTH + " символов");
+        }
+        ensureLoaded();
+
+        long started = System.nanoTime();
+        Directory current = directory;
+        ConcurrentNavigableMap<String, Long> range = current.keys().subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        if (afterKey != null) range = range.tailMap(afterKey, false);
+
+        List<ClientSummaryDTO> items = new ArrayList<>(limit);
+        String lastKey = null;
+        for (Map.Entry<String, Long> match : range.entrySet()) {
+            if (items.size() == limit) break;
+            lastKey = match.getKey();
+            Entry entry = current.entries().get(match.getValue());
+            if (entry != null && match.getKey().equals(firstMatchingKey(entry, prefix))) items.add(entry.summary());
+        }
+
+        searches.increment();
+        searchNanosTotal.add(System.nanoTime() - started);
+        return new SearchPage(items, items.size() == limit ? lastKey : null);
+    }
+
+    public void refresh() {
+        synchronized (refreshLock) {
+            synchronized (this) {
+                changedDuringLoad = new HashSet<>();
+            }
+            Directory fresh = new Directory();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (Stream<ClientSummaryDTO> summaries = clientRepository.streamAllSummaries()) {
+                        summaries.forEach(fresh::put);
+                    }
+                });
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    changedDuringLoad = null;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                for (Long clientId : changedDuringLoad) apply(fresh, clientId, clientRepository.findSummaryById(clientId));
+                changedDuringLoad = null;
+                directory = fresh;
+                loaded = true;
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClientProfileChanged(ClientProfileChangedEvent event) {
+        Optional<ClientSummaryDTO> summary = clientRepository.findSummaryById(event.clientId());
+        synchronized (this) {
+            // before the first load there is nothing to patch: the load reads the committed state itself
+            if (!loaded && changedDuringLoad == null) return;
+            if (changedDuringLoad != null) changedDuringLoad.add(event.clientId());
+            apply(directory, event.clientId(), summary);
+        }
+        updates.incrementAndGet();
+    }
+
+    public Map<String, Object> getStats() {
+        long count = searches.sum();
+        Directory current = directory;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("loaded", loaded);
+        stats.put("clients", current.entries().size());
+        stats.put("keys", current.keys().size());
+        stats.put("searches", count);
+        stats.put("avgSearchMicros", count == 0 ? 0 : searchNanosTotal.sum() / count / 1000.0);
+        stats.put("updates", updates.get());
+        return stats;
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (refreshLock) {
+                if (!loaded) refresh();
+            }
+        }
+    }
+
+    private static void apply(Directory target, Long clientId, Optional<ClientSummaryDTO> summary) {
+        if (summary.isPresent()) target.put(summary.get());
+        else target.remove(clientId);
+    }
+
+    private static String firstMatchingKey(Entry entry, String prefix) {
+        for (String key : entry.keys()) {
+            if (key.startsWith(prefix)) return key;
+        }
+        return null;
+    }
+
+    /**
+     * Every word of the name, the full name (so "ivan iv" matches across the space) and the passport without separators.
+     */
+    private static Set<String> tokens(ClientSummaryDTO summary) {
+        Set<String> tokens = new LinkedHashSet<>();
+        String name = normalize(summary.getFullName());
+        if (!name.isEmpty()) {
+            tokens.add(name);
+            tokens.addAll(Arrays.asList(name.split(" ")));
+        }
+        String passport = normalize(summary.getPassport()).replace(" ", "");
+        if (!passport.isEmpty()) tokens.add(passport);
+        return tokens;
+    }
+
+    static String normalize(String value) {
+        if (value == null) return "";
+        return value.trim().toLowerCase(Locale.ROOT).replace('ё', 'е').replaceAll("\\s+", " ");
+    }
+}
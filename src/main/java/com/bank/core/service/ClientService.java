@@ -2,14 +2,20 @@ package com.bank.core.service;
 
 import com.bank.core.domain.*;
 import com.bank.core.domain.enums.CardStatus;
-import com.bank.core.domain.enums.LoanStatus;
 import com.bank.core.dto.*;
 import com.bank.core.repository.*;
+import com.bank.core.util.PageCursor;
+import com.bank.core.event.ClientDashboardChangedEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -17,122 +23,103 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ClientService {
 
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+    private static final int MAX_SUMMARY_MONTHS = 36;
+
     private final ClientRepository clientRepository;
     private final CardRepository cardRepository;
-    private final BonusAccountRepository bonusAccountRepository;
     private final BonusLedgerRepository bonusLedgerRepository;
     private final TransactionRepository transactionRepository;
     private final LoanRepository loanRepository;
+    private final ClientDashboardReadModel dashboardReadModel;
+    private final LoanScheduleService loanScheduleService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    @Transactional(readOnly = true)
     public ClientDashboardDTO getDashboard(Long clientId) {
-        Client client = clientRepository.findById(clientId)
+        ClientDashboardDTO dashboard = dashboardReadModel.get(clientId)
                 .orElseThrow(() -> new RuntimeException("Клиент не найден"));
-
-        BonusAccount bonusAccount = bonusAccountRepository.findByClientId(clientId)
-                .orElseThrow(() -> new RuntimeException("Счет бонусов не найден"));
-
-        List<Card> cards = cardRepository.findAll().stream()
-                .filter(c -> c.getClient().getId().equals(clientId))
-                .collect(Collectors.toList());
-
-        List<Loan> loans = loanRepository.findByClientId(clientId);
-
-        ClientDashboardDTO dashboard = new ClientDashboardDTO();
-
-        dashboard.setClientId(client.getId());
-        dashboard.setFullName(client.getFullName());
-        dashboard.setMonthlyIncome(client.getMonthlyIncome());
-        dashboard.setEmploymentStartDate(client.getEmploymentStartDate());
-        dashboard.setCreditHistoryScore(client.getCreditHistoryScore() != null ? client.getCreditHistoryScore() : 0);
-        dashboard.setRiskClass(client.getRiskClass().name());
-
-        dashboard.setPointsBalance(bonusAccount.getPointsBalance());
-
-        dashboard.setCards(cards.stream().map(c -> {
-            CardDTO dto = new CardDTO();
-            dto.setId(c.getId());
-            dto.setCardNumber(c.getCardNumber());
-            dto.setBalance(c.getBalance());
-            dto.setCreditLimit(c.getCreditLimit());
-            dto.setStatus(c.getStatus().name());
-            dto.setExpirationDate(c.getExpirationDate());
-            return dto;
-        }).collect(Collectors.toList()));
-
-        dashboard.setLoans(loans.stream().map(l -> {
-            LoanDTO dto = new LoanDTO();
-            dto.setId(l.getId());
-            dto.setPrincipalAmount(l.getPrincipalAmount());
-            dto.setTotalRepay(l.getTotalAmountToRepay());
-            dto.setRemainingDebt(l.getRemainingDebt());
-            dto.setMonthlyPayment(l.getMonthlyPayment());
-            dto.setStatus(l.getStatus().name());
-            dto.setNextPaymentDate(l.getStartDate().plusMonths(1));
-            return dto;
-        }).collect(Collectors.toList()));
-
+        if (dashboard.getPointsBalance() == null) {
+            throw new RuntimeException("Счет бонусов не найден");
+        }
         return dashboard;
     }
 
     @Transactional
     public void payLoan(Long clientId, Long loanId, Long cardId, BigDecimal amount) {
-        Loan loan = loanRepository.findById(loanId)
+        Loan loan = loanRepository.findByIdForUpdate(loanId)
                 .orElseThrow(() -> new RuntimeException("Кредит не найден"));
-        Card card = cardRepository.findById(cardId)
+        Long cardOwnerId = cardRepository.findOwnersByIdIn(List.of(cardId)).stream()
+                .findFirst()
+                .map(CardRepository.CardOwnerView::getClientId)
                 .orElseThrow(() -> new RuntimeException("Карта не найдена"));
 
-        if (!loan.getClient().getId().equals(clientId) || !card.getClient().getId().equals(clientId)) {
+        if (!loan.getClient().getId().equals(clientId) || !cardOwnerId.equals(clientId)) {
             throw new RuntimeException("Доступ запрещен");
         }
 
-        if (card.getBalance().compareTo(amount) < 0) {
-            throw new RuntimeException("Недостаточно средств на карте");
-        }
-
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new RuntimeException("Сумма должна быть положительной");
         }
 
-        card.setBalance(card.getBalance().subtract(amount));
-        cardRepository.save(card);
+        long appliedMinor = loanScheduleService.applyPayment(loan, Money.toMinor(amount, RoundingMode.HALF_UP));
+        if (appliedMinor == 0) {
+            throw new RuntimeException("Кредит уже погашен");
+        }
 
-        BigDecimal newDebt = loan.getRemainingDebt().subtract(amount);
-        if (newDebt.compareTo(BigDecimal.ZERO) <= 0) {
-            newDebt = BigDecimal.ZERO;
-            loan.setStatus(LoanStatus.PAID);
+        // the schedule changes above roll back with the transaction when the card cannot cover the payment
+        if (cardRepository.debitIfSufficient(cardId, Money.ofMinor(appliedMinor).toBigDecimal()) == 0) {
+            throw new RuntimeException("Недостаточно средств на карте или карта заблокирована");
         }
-        loan.setRemainingDebt(newDebt);
         loanRepository.save(loan);
+
+        eventPublisher.publishEvent(ClientDashboardChangedEvent.ofClient(clientId));
     }
 
     @Transactional(readOnly = true)
-    public List<BonusHistoryDTO> getBonusHistory(Long clientId) {
-        BonusAccount account = bonusAccountRepository.findByClientId(clientId).orElseThrow();
-        return bonusLedgerRepository.findByBonusAccountIdOrderByCreatedAtDesc(account.getId())
-                .stream().map(l -> {
-                    BonusHistoryDTO dto = new BonusHistoryDTO();
-                    dto.setDate(l.getCreatedAt());
-                    dto.setAmount(l.getAmount());
-                    dto.setType(l.getType().name());
-                    dto.setDescription(l.getDescription());
-                    return dto;
-                }).collect(Collectors.toList());
+    public CursorPageDTO<BonusHistoryDTO> getBonusHistory(Long clientId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+        PageCursor after = PageCursor.decode(cursor);
+
+        List<BonusHistoryDTO> rows = bonusLedgerRepository.findHistoryPage(clientId,
+                after != null ? after.createdAt() : null,
+                after != null ? after.id() : null,
+                PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<BonusHistoryDTO> items = hasMore ? rows.subList(0, pageSize) : rows;
+        BonusHistoryDTO last = items.isEmpty() ? null : items.get(items.size() - 1);
+        String nextCursor = hasMore ? new PageCursor(last.getDate(), last.getId()).encode() : null;
+        return new CursorPageDTO<>(items, nextCursor, hasMore);
+    }
+
+    @Transactional(readOnly = true)
+    public List<BonusMonthlySummaryDTO> getBonusSummary(Long clientId, int months) {
+        int period = Math.max(1, Math.min(months, MAX_SUMMARY_MONTHS));
+        LocalDateTime from = LocalDate.now().withDayOfMonth(1).minusMonths(period - 1).atStartOfDay();
+        return bonusLedgerRepository.summarizeByMonth(clientId, from).stream()
+                .map(v -> new BonusMonthlySummaryDTO(v.getPeriod(), v.getPointsEarned(), v.getPointsSpent(),
+                        v.getCashback(), v.getOperations()))
+                .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
-    public List<TransactionHistoryDTO> getTransactionHistory(Long clientId) {
-        return transactionRepository.findAllByClientId(clientId).stream()
-                .map(t -> {
-                    TransactionHistoryDTO dto = new TransactionHistoryDTO();
-                    dto.setId(t.getId());
-                    dto.setCardNumber("**** " + t.getCard().getCardNumber().substring(12));
-                    dto.setAmount(t.getAmount());
-                    dto.setMccCode(t.getMccCode());
-                    dto.setStatus(t.getStatus().name());
-                    dto.setCreatedAt(t.getCreatedAt());
-                    dto.setDescription(t.getDescription() != null ? t.getDescription() : "Покупка");
-                    return dto;
-                }).collect(Collectors.toList());
+    public CursorPageDTO<TransactionHistoryDTO> getTransactionHistory(Long clientId, String cursor, int size,
+                                                                      LocalDate from, LocalDate to, String mccCode) {
+        int pageSize = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+        PageCursor after = PageCursor.decode(cursor);
+
+        List<TransactionHistoryDTO> rows = transactionRepository.findHistoryPage(clientId,
+                from != null ? from.atStartOfDay() : null,
+                to != null ? to.plusDays(1).atStartOfDay() : null,
+                mccCode != null && !mccCode.isBlank() ? mccCode : null,
+                after != null ? after.createdAt() : null,
+                after != null ? after.id() : null,
+                PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<TransactionHistoryDTO> items = hasMore ? rows.subList(0, pageSize) : rows;
+        TransactionHistoryDTO last = items.isEmpty() ? null : items.get(items.size() - 1);
+        String nextCursor = hasMore ? new PageCursor(last.getCreatedAt(), last.getId()).encode() : null;
+        return new CursorPageDTO<>(items, nextCursor, hasMore);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,248 @@
+package com.bank.core.service;
+
+import com.bank.core.domain.Money;
+import com.bank.core.domain.enums.RiskClass;
+import com.bank.core.dto.ScorecardDefinition;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * A scorecard definition flattened into primitive threshold arrays, sorted so that the first hit wins.
+ * Evaluation only reads these arrays and does integer arithmetic, so scoring a client allocates nothing.
+ */
+public final class CompiledScorecard {
+
+    private final long version;
+
+    private final long[] incomeMinPermille;
+    private final boolean[] incomeExclusive;
+    private final int[] incomePoints;
+    private final int incomeOtherwisePoints;
+
+    private final long[] experienceMinMonths;
+    private final int[] experiencePoints;
+    private final int experienceOtherwisePoints;
+
+    private final int delinquencyPoints;
+    private final int noDelinquencyPoints;
+    private final int activeLoansPoints;
+
+    private final long[] ptiMinPercent;
+    private final int[] ptiPoints;
+
+    private final int[] ageMin;
+    private final int[] ageMax;
+    private final int[] agePoints;
+
+    private final String[] maritalStatuses;
+    private final int[] maritalPoints;
+
+    private final int[] decisionMinScore;
+    private final ScorecardDefinition.DecisionBand[] decisions;
+    private final long[] decisionMaxLimitMinor;
+    private final String declineMessage;
+
+    private CompiledScorecard(long version, ScorecardDefinition definition) {
+        this.version = version;
+
+        List<ScorecardDefinition.IncomeBand> income = sorted(definition.income(),
+                Comparator.comparingLong(ScorecardDefinition.IncomeBand::minBpmPermille)
+                        .thenComparing(ScorecardDefinition.IncomeBand::exclusive).reversed());
+        incomeMinPermille = income.stream().mapToLong(ScorecardDefinition.IncomeBand::minBpmPermille).toArray();
+        incomeExclusive = new boolean[income.size()];
+        for (int i = 0; i < income.size(); i++) incomeExclusive[i] = income.get(i).exclusive();
+        incomePoints = income.stream().mapToInt(ScorecardDefinition.IncomeBand::points).toArray();
+        incomeOtherwisePoints = definition.incomeOtherwisePoints();
+
+        List<ScorecardDefinition.Band> experience = sortedBands(definition.experienceMonths());
+        experienceMinMonths = experience.stream().mapToLong(ScorecardDefinition.Band::min).toArray();
+        experiencePoints = experience.stream().mapToInt(ScorecardDefinition.Band::points).toArray();
+        experienceOtherwisePoints = definition.experienceOtherwisePoints();
+
+        delinquencyPoints = definition.delinquencyPoints();
+        noDelinquencyPoints = definition.noDelinquencyPoints();
+        activeLoansPoints = definition.activeLoansPoints();
+
+        List<ScorecardDefinition.Band> pti = sortedBands(definition.ptiPercent());
+        ptiMinPercent = pti.stream().mapToLong(ScorecardDefinition.Band::min).toArray();
+        ptiPoints = pti.stream().mapToInt(ScorecardDefinition.Band::points).toArray();
+
+        List<ScorecardDefinition.RangeBand> age = definition.age() != null ? definition.age() : List.of();
+        ageMin = age.stream().mapToInt(ScorecardDefinition.RangeBand::min).toArray();
+        ageMax = age.stream().mapToInt(ScorecardDefinition.RangeBand::max).toArray();
+        agePoints = age.stream().mapToInt(ScorecardDefinition.RangeBand::points).toArray();
+
+        Map<String, Integer> marital = definition.maritalStatus() != null ? definition.maritalStatus() : Map.of();
+        maritalStatuses = marital.keySet().toArray(new String[0]);
+        maritalPoints = new int[maritalStatuses.length];
+        for (int i = 0; i < maritalStatuses.length; i++) maritalPoints[i] = marital.get(maritalStatuses[i]);
+
+        decisions = sorted(definition.decisions(),
+                Comparator.comparingInt(ScorecardDefinition.DecisionBand::minScore).reversed())
+                .toArray(new ScorecardDefinition.DecisionBand[0]);
+        decisionMinScore = Arrays.stream(decisions).mapToInt(ScorecardDefinition.DecisionBand::minScore).toArray();
+        decisionMaxLimitMinor = Arrays.stream(decisions)
+                .mapToLong(band -> Money.toMinor(band.maxLimit(), RoundingMode.HALF_UP)).toArray();
+        declineMessage = definition.declineMessage() != null ? definition.declineMessage() : "Отказ";
+    }
+
+    public static CompiledScorecard compile(long version, ScorecardDefinition definition) {
+        validate(definition);
+        return new CompiledScorecard(version, definition);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int score(long incomeMinor, LocalDate employmentStartDate, String maritalStatus, LocalDate birthDate,
+                     boolean hasExternalDelinquency, long activeLoanCount, long totalMonthlyPaymentMinor,
+                     long bpmMinor, LocalDate today) {
+        long experienceMonths = employmentStartDate != null ? Math.max(0, monthsBetween(employmentStartDate, today)) : 0;
+        return score(incomeMinor, experienceMonths, maritalStatus, monthsBetween(birthDate, today) / 12,
+                hasExternalDelinquency, activeLoanCount, totalMonthlyPaymentMinor, bpmMinor);
+    }
+
+    /**
+     * Scores already derived features; used directly by the columnar what-if simulation.
+     */
+    public int score(long incomeMinor, long experienceMonths, String maritalStatus, long age,
+                     boolean hasExternalDelinquency, long activeLoanCount, long totalMonthlyPaymentMinor,
+                     long bpmMinor) {
+        int score = incomeOtherwisePoints;
+        long incomePermille = incomeMinor * 1000;
+        for (int i = 0; i < incomeMinPermille.length; i++) {
+            long threshold = bpmMinor * incomeMinPermille[i];
+            if (incomeExclusive[i] ? incomePermille > threshold : incomePermille >= threshold) {
+                score = incomePoints[i];
+                break;
+            }
+        }
+
+        score += firstMatch(experienceMinMonths, experiencePoints, experienceMonths, experienceOtherwisePoints);
+
+        score += hasExternalDelinquency ? delinquencyPoints : noDelinquencyPoints;
+
+        if (activeLoanCount > 0) {
+            score += activeLoansPoints;
+            long ptiPercent = incomeMinor > 0
+                    ? Money.multiplyFraction(totalMonthlyPaymentMinor, 100, incomeMinor, RoundingMode.HALF_UP)
+                    : 0;
+            score += firstMatch(ptiMinPercent, ptiPoints, ptiPercent, 0);
+        }
+
+        if (maritalStatus != null) {
+            for (int i = 0; i < maritalStatuses.length; i++) {
+                if (maritalStatuses[i].equalsIgnoreCase(maritalStatus)) {
+                    score += maritalPoints[i];
+                    break;
+                }
+            }
+        }
+
+        for (int i = 0; i < agePoints.length; i++) {
+            if (age >= ageMin[i] && age <= ageMax[i]) {
+                score += agePoints[i];
+                break;
+            }
+        }
+        return score;
+    }
+
+    /**
+     * The decision band for a score, or {@code null} when the score is below every band.
+     */
+    public ScorecardDefinition.DecisionBand decision(int score) {
+        for (int i = 0; i < decisionMinScore.length; i++) {
+            if (score >= decisionMinScore[i]) return decisions[i];
+        }
+        return null;
+    }
+
+    /**
+     * Upper limit of the decision band in minor units, zero when the score is declined.
+     */
+    public long maxLimitMinor(int score) {
+        for (int i = 0; i < decisionMinScore.length; i++) {
+            if (score >= decisionMinScore[i]) return decisionMaxLimitMinor[i];
+        }
+        return 0;
+    }
+
+    public RiskClass riskClassFor(int score) {
+        ScorecardDefinition.DecisionBand band = decision(score);
+        return band != null ? band.riskClass() : RiskClass.NONE;
+    }
+
+    public String declineMessage() {
+        return declineMessage;
+    }
+
+    /**
+     * Same result as {@code ChronoUnit.MONTHS.between(from, to)} without going through the temporal API.
+     */
+    static long monthsBetween(LocalDate from, LocalDate to) {
+        return monthsBetween(packDate(from), packDate(to));
+    }
+
+    static long monthsBetween(int packedFrom, int packedTo) {
+        return (packedTo - (long) packedFrom) / 32;
+    }
+
+    /**
+     * Proleptic month * 32 + day of month: differences of packed dates divided by 32 are whole months.
+     */
+    static int packDate(LocalDate date) {
+        return Math.toIntExact((date.getYear() * 12L + date.getMonthValue() - 1) * 32L + date.getDayOfMonth());
+    }
+
+    private static int firstMatch(long[] thresholds, int[] points, long value, int otherwise) {
+        for (int i = 0; i < thresholds.length; i++) {
+            if (value >= thresholds[i]) return points[i];
+        }
+        return otherwise;
+    }
+
+    private static void validate(ScorecardDefinition definition) {
+        if (definition == null) throw new RuntimeException("Не задано описание скоринговой карты");
+        if (definition.decisions() == null || definition.decisions().isEmpty()) {
+            throw new RuntimeException("Скоринговая карта должна содержать хотя бы один класс решения");
+        }
+        for (ScorecardDefinition.DecisionBand band : definition.decisions()) {
+            if (band.riskClass() == null || band.riskClass() == RiskClass.NONE) {
+                throw new RuntimeException("Для класса решения с порогом " + band.minScore() + " не указан класс риска");
+            }
+            if (band.minLimit() == null || band.maxLimit() == null || band.minLimit().compareTo(band.maxLimit()) > 0
+                    || band.minLimit().compareTo(BigDecimal.ZERO) < 0) {
+                throw new RuntimeException("Некорректные лимиты для класса риска " + band.riskClass());
+            }
+        }
+        if (definition.income() != null) {
+            for (ScorecardDefinition.IncomeBand band : definition.income()) {
+                if (band.minBpmPermille() < 0) throw new RuntimeException("Порог дохода не может быть отрицательным");
+            }
+        }
+        if (definition.age() != null) {
+            for (ScorecardDefinition.RangeBand band : definition.age()) {
+                if (band.min() > band.max()) throw new RuntimeException("Некорректный возрастной диапазон " + band.min() + "-" + band.max());
+            }
+        }
+        if (definition.maritalStatus() != null && definition.maritalStatus().values().stream().anyMatch(Objects::isNull)) {
+            throw new RuntimeException("Не указаны баллы для семейного положения");
+        }
+    }
+
+    private static List<ScorecardDefinition.Band> sortedBands(List<ScorecardDefinition.Band> bands) {
+        return sorted(bands, Comparator.comparingLong(ScorecardDefinition.Band::min).reversed());
+    }
+
+    private static <T> List<T> sorted(List<T> items, Comparator<T> order) {
+        if (items == null) return List.of();
+        List<T> copy = new ArrayList<>(items);
+        copy.sort(order);
+        return copy;
+    }
+}
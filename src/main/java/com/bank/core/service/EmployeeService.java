@@ -2,46 +2,102 @@ package com.bank.core.service;
 
 import com.bank.core.domain.*;
 import com.bank.core.domain.enums.*;
+import com.bank.core.dto.ClientSummaryDTO;
+import com.bank.core.dto.CreditApplicationDTO;
+import com.bank.core.dto.CursorPageDTO;
+import com.bank.core.event.ClientDashboardChangedEvent;
+import com.bank.core.event.ClientProfileChangedEvent;
 import com.bank.core.repository.*;
+import com.bank.core.util.SortCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class EmployeeService {
 
+    private static final int MAX_QUEUE_PAGE_SIZE = 100;
+
     private final ClientRepository clientRepository;
     private final CreditApplicationRepository applicationRepository;
     private final CardRepository cardRepository;
     private final LoanRepository loanRepository;
-
-    private static final BigDecimal DEFAULT_INTEREST_RATE = BigDecimal.valueOf(0.15);
+    private final ApplicationEventPublisher eventPublisher;
+    private final ClientDirectoryIndex clientDirectoryIndex;
+    private final ScorecardRegistry scorecardRegistry;
+    private final LoanScheduleService loanScheduleService;
 
     @Transactional(readOnly = true)
-    public List<Client> getAllClients() {
-        return clientRepository.findAll();
+    public CursorPageDTO<ClientSummaryDTO> getClients(String query, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_QUEUE_PAGE_SIZE));
+
+        if (query != null && !query.isBlank()) {
+            String afterKey = cursor != null && !cursor.isBlank()
+                    ? new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8) : null;
+            ClientDirectoryIndex.SearchPage page = clientDirectoryIndex.search(query, afterKey, pageSize);
+            String nextCursor = page.lastKey() != null ? Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(page.lastKey().getBytes(StandardCharsets.UTF_8)) : null;
+            return new CursorPageDTO<>(page.items(), nextCursor, nextCursor != null);
+        }
+
+        Long afterId = cursor != null && !cursor.isBlank() ? Long.valueOf(cursor) : null;
+        List<ClientSummaryDTO> rows = clientRepository.findSummaryPage(afterId, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<ClientSummaryDTO> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? String.valueOf(items.get(items.size() - 1).getId()) : null;
+        return new CursorPageDTO<>(items, nextCursor, hasMore);
     }
 
     @Transactional(readOnly = true)
-    public List<CreditApplication> getPendingApplications() {
-        return applicationRepository.findAll().stream()
-                .filter(app -> app.getStatus() == ApplicationStatus.PENDING)
-                .collect(Collectors.toList());
+    public CursorPageDTO<CreditApplicationDTO> getPendingApplications(String sort, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_QUEUE_PAGE_SIZE));
+        String sortKey = sort != null ? sort : "createdAt";
+        SortCursor after = SortCursor.decode(cursor, sortKey);
+        Long afterId = after != null ? after.id() : null;
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+
+        List<CreditApplicationDTO> rows = switch (sortKey) {
+            case "createdAt" -> applicationRepository.findQueueByCreatedAt(ApplicationStatus.PENDING,
+                    after != null ? LocalDateTime.parse(after.value()) : null, afterId, page);
+            case "score" -> applicationRepository.findQueueByScore(ApplicationStatus.PENDING,
+                    after != null ? Integer.valueOf(after.value()) : null, afterId, page);
+            case "limit" -> applicationRepository.findQueueByRequestedLimit(ApplicationStatus.PENDING,
+                    after != null ? new BigDecimal(after.value()) : null, afterId, page);
+            default -> throw new RuntimeException("Неизвестная сортировка: " + sortKey);
+        };
+
+        boolean hasMore = rows.size() > pageSize;
+        List<CreditApplicationDTO> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            CreditApplicationDTO last = items.get(items.size() - 1);
+            String value = switch (sortKey) {
+                case "score" -> String.valueOf(last.getCalculatedScore());
+                case "limit" -> last.getRequestedLimit().toPlainString();
+                default -> last.getCreatedAt().toString();
+            };
+            nextCursor = new SortCursor(sortKey, value, last.getId()).encode();
+        }
+        return new CursorPageDTO<>(items, nextCursor, hasMore);
     }
 
     @Transactional
     public void approveApplication(Long applicationId, BigDecimal finalLimit) {
         CreditApplication app = applicationRepository.findById(applicationId)
                 .orElseThrow(() -> new RuntimeException("Заявка не найдена"));
+        if (app.getStatus() == ApplicationStatus.QUEUED) throw new RuntimeException("Заявка ещё не прошла скоринг");
 
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         boolean isAdmin = auth != null && auth.getAuthorities().stream()
@@ -64,56 +120,37 @@ public class EmployeeService {
 
         int term = app.getTermMonths() != null ? app.getTermMonths() : 12;
 
-        issueProduct(app.getClient(), finalLimit, term);
+        issueProduct(app.getClient(), finalLimit, term, app.getRepaymentType());
     }
 
     @Transactional
-    public void issueProduct(Client client, BigDecimal limit, int termMonths) {
+    public void issueProduct(Client client, BigDecimal limit, int termMonths, RepaymentType repaymentType) {
         Card card = getOrCreateCard(client);
         card.setBalance(card.getBalance().add(limit));
         card.setCreditLimit(BigDecimal.ZERO);
         cardRepository.save(card);
 
-        createLoan(client, limit, termMonths);
+        createLoan(client, limit, termMonths, repaymentType);
+        eventPublisher.publishEvent(ClientDashboardChangedEvent.ofClient(client.getId()));
     }
 
-    private void createLoan(Client client, BigDecimal principal, int months) {
+    private void createLoan(Client client, BigDecimal principal, int months, RepaymentType repaymentType) {
         Loan loan = new Loan();
         loan.setClient(client);
         loan.setPrincipalAmount(principal);
-
-        BigDecimal interestRate;
-        if (months <= 12) {
-            interestRate = BigDecimal.valueOf(0.12);
-        } else if (months <= 36) {
-            interestRate = BigDecimal.valueOf(0.15);
-        } else {
-            interestRate = BigDecimal.valueOf(0.18);
-        }
-        loan.setInterestRate(interestRate);
+        loan.setRepaymentType(repaymentType != null ? repaymentType : RepaymentType.ANNUITY);
 
         loan.setStartDate(LocalDate.now());
         loan.setEndDate(LocalDate.now().plusMonths(months));
         loan.setStatus(LoanStatus.ACTIVE);
 
-        BigDecimal years = BigDecimal.valueOf(months).divide(BigDecimal.valueOf(12), 4, RoundingMode.HALF_UP);
-        BigDecimal interestAmount = principal.multiply(interestRate).multiply(years);
-
-        BigDecimal totalDebt = principal.add(interestAmount);
-
-        loan.setTotalAmountToRepay(totalDebt);
-        loan.setRemainingDebt(totalDebt);
-
-        BigDecimal monthly = totalDebt.divide(BigDecimal.valueOf(months), 2, RoundingMode.HALF_UP);
-        loan.setMonthlyPayment(monthly);
-
+        List<LoanScheduleCalculator.Row> schedule = loanScheduleService.prepare(loan, months);
         loanRepository.save(loan);
+        loanScheduleService.store(loan, schedule);
     }
 
     private Card getOrCreateCard(Client client) {
-        return cardRepository.findAll().stream()
-                .filter(c -> c.getClient().getId().equals(client.getId()) && c.getStatus() == CardStatus.ACTIVE)
-                .findFirst()
+        return cardRepository.findFirstByClientIdAndStatusOrderByIdAsc(client.getId(), CardStatus.ACTIVE)
                 .orElseGet(() -> {
                     Card newCard = new Card();
                     newCard.setClient(client);
@@ -140,7 +177,10 @@ public class EmployeeService {
         client.setFullName(updatedData.getFullName());
         client.setPassport(updatedData.getPassport());
         client.setMonthlyIncome(updatedData.getMonthlyIncome());
-        return clientRepository.save(client);
+        Client saved = clientRepository.save(client);
+        eventPublisher.publishEvent(ClientDashboardChangedEvent.ofClient(saved.getId()));
+        eventPublisher.publishEvent(new ClientProfileChangedEvent(saved.getId()));
+        return saved;
     }
 
     @Transactional
@@ -148,15 +188,13 @@ public class EmployeeService {
         Card card = cardRepository.findById(cardId).orElseThrow();
         card.setStatus(CardStatus.valueOf(status));
         cardRepository.save(card);
+        eventPublisher.publishEvent(ClientDashboardChangedEvent.ofCards(cardId));
     }
 
     private void updateClientRiskClass(CreditApplication app) {
         Client client = app.getClient();
-        int score = app.getCalculatedScore();
-        if (score >= 75) client.setRiskClass(RiskClass.LOW);
-        else if (score >= 40) client.setRiskClass(RiskClass.MIDDLE);
-        else if (score >= 10) client.setRiskClass(RiskClass.HIGH);
-        else client.setRiskClass(RiskClass.NONE);
+        client.setRiskClass(scorecardRegistry.current().riskClassFor(app.getCalculatedScore()));
         clientRepository.save(client);
+        eventPublisher.publishEvent(new ClientProfileChangedEvent(client.getId()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,156 @@
+package com.bank.core.service;
+
+import com.bank.core.exception.IdempotencyKeyReuseException;
+import com.bank.core.repository.IdempotencyKeyRepository;
+import com.bank.core.repository.IdempotencyKeyRepository.StoredRequest;
+import com.bank.core.util.BoundedLruCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    private static final int MAX_KEY_LENGTH = 128;
+
+    private final IdempotencyKeyRepository keyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper canonicalMapper;
+    private final BoundedLruCache<String, StoredRequest> responses;
+    private final Duration retention;
+
+    public IdempotencyService(IdempotencyKeyRepository keyRepository,
+                              TransactionTemplate transactionTemplate,
+                              ObjectMapper objectMapper,
+                              @Value("${bank.idempotency.cache-size:10000}") int cacheSize,
+                              @Value("${bank.idempotency.retention-hours:24}") long retentionHours) {
+        this.keyRepository = keyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.canonicalMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+                .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                .enable(StreamWriteFeature.WRITE_BIGDECIMAL_AS_PLAIN)
+                .build();
+        this.responses = new BoundedLruCache<>(cacheSize);
+        this.retention = Duration.ofHours(retentionHours);
+    }
+
+    /**
+     * Runs {@code action} once per key. A repeated key returns the stored response, provided it comes with the
+     * same request; {@code request} is hashed in a canonical JSON form and a different request under a used key
+     * is rejected with {@link IdempotencyKeyReuseException}.
+     */
+    public <T> T execute(String idempotencyKey, String scope, Object request, Class<T> responseType, Supplier<T> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new RuntimeException("Idempotency-Key не может быть длиннее " + MAX_KEY_LENGTH + " символов");
+        }
+
+        String key = scope + ":" + idempotencyKey;
+        String requestHash = hash(request);
+
+        LocalDateTime now = LocalDateTime.now();
+        StoredRequest stored = responses.get(key);
+        if (stored != null && isExpired(stored, now)) {
+            responses.remove(key);
+            stored = null;
+        }
+        if (stored == null) {
+            stored = keyRepository.find(key).filter(found -> found.responseBody() != null).orElse(null);
+        }
+        if (stored != null) {
+            return replay(key, stored, requestHash, responseType);
+        }
+
+        try {
+            Object[] outcome = transactionTemplate.execute(status -> {
+                keyRepository.insertPlaceholder(key, requestHash, now);
+                T result = action.get();
+                String body = write(result);
+                keyRepository.saveResponse(key, body);
+                return new Object[]{result, body};
+            });
+            responses.put(key, new StoredRequest(requestHash, (String) outcome[1], now));
+            return responseType.cast(outcome[0]);
+        } catch (DuplicateKeyException e) {
+            StoredRequest concurrent = keyRepository.find(key).orElse(null);
+            if (concurrent != null) checkSameRequest(concurrent, requestHash);
+            if (concurrent == null || concurrent.responseBody() == null) {
+                throw new RuntimeException("Запрос с этим Idempotency-Key уже обрабатывается");
+            }
+            return replay(key, concurrent, requestHash, responseType);
+        }
+    }
+
+    private <T> T replay(String key, StoredRequest stored, String requestHash, Class<T> responseType) {
+        checkSameRequest(stored, requestHash);
+        responses.put(key, stored);
+        return read(stored.responseBody(), responseType);
+    }
+
+    private static void checkSameRequest(StoredRequest stored, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyReuseException("Idempotency-Key уже использован для другого запроса");
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonicalMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Не удалось вычислить отпечаток идемпотентного запроса", e);
+        }
+    }
+
+    /**
+     * Cached responses age out with the stored keys, so memory never replays a key the table no longer holds.
+     */
+    private boolean isExpired(StoredRequest stored, LocalDateTime now) {
+        return stored.createdAt().isBefore(now.minus(retention));
+    }
+
+    @Scheduled(fixedDelayString = "${bank.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        keyRepository.deleteOlderThan(now.minus(retention));
+        responses.removeIf(stored -> isExpired(stored, now));
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сохранить ответ идемпотентного запроса", e);
+        }
+    }
+
+    private <T> T read(String body, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(body, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось восстановить ответ идемпотентного запроса", e);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.bank.core.service;
+
+import com.bank.core.domain.LoanScheduleCalculator.Row;
+import com.bank.core.domain.enums.SystemParameterKey;
+import com.bank.core.event.ClientDashboardChangedEvent;
+import com.bank.core.event.SystemParameterChangedEvent;
+import com.bank.core.repository.LoanScheduleJdbcRepository;
+import com.bank.core.repository.LoanScheduleJdbcRepository.LoanTerms;
+import com.bank.core.repository.LoanScheduleJdbcRepository.ScheduleWrite;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Rebuilds the repayment schedules of every active loan after a loan rate change, and backfills loans issued
+ * before schedules existed. Loans are locked in id-ordered chunks, their schedules are read with one range
+ * scan, rebuilt on a fork-join pool and written back with JDBC batches in the same transaction.
+ * A rate change during a run restarts it from the first loan.
+ */
+@Service
+public class LoanScheduleRegenerationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoanScheduleRegenerationService.class);
+    private static final int MAX_ERROR_LENGTH = 255;
+    private static final Set<String> RATE_KEYS = Set.of(SystemParameterKey.LOAN_RATE_UP_TO_12M.name(),
+            SystemParameterKey.LOAN_RATE_UP_TO_36M.name(), SystemParameterKey.LOAN_RATE_OVER_36M.name());
+
+    private final LoanScheduleJdbcRepository scheduleRepository;
+    private final LoanScheduleService loanScheduleService;
+    private final SystemParameterRegistry parameterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool schedulePool;
+    private final ExecutorService runner;
+    private final int chunkSize;
+
+    private boolean running;
+    private boolean restartRequested;
+    private volatile long processed;
+    private volatile long rebuilt;
+    private volatile long lastLoanId;
+    private volatile long startedNanos;
+    private volatile long finishedNanos;
+    private volatile String outcome = "IDLE";
+    private volatile String lastError;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+
+    public LoanScheduleRegenerationService(LoanScheduleJdbcRepository scheduleRepository,
+                                           LoanScheduleService loanScheduleService,
+                                           SystemParameterRegistry parameterRegistry,
+                                           ApplicationEventPublisher eventPublisher,
+                                           TransactionTemplate transactionTemplate,
+                                           @Value("${bank.loans.schedule.parallelism:0}") int parallelism,
+                                           @Value("${bank.loans.schedule.chunk-size:500}") int chunkSize) {
+        this.scheduleRepository = scheduleRepository;
+        this.loanScheduleService = loanScheduleService;
+        this.parameterRegistry = parameterRegistry;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.schedulePool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.runner = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "loan-schedule-regeneration");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts a run, or asks the current one to start over so that it picks up the latest rates.
+     */
+    public synchronized Map<String, Object> start() {
+        if (running) {
+            restartRequested = true;
+            return getStatus();
+        }
+        running = true;
+        restartRequested = false;
+        processed = 0;
+        rebuilt = 0;
+        lastLoanId = 0;
+        lastError = null;
+        outcome = "RUNNING";
+        startedAt = LocalDateTime.now();
+        finishedAt = null;
+        startedNanos = System.nanoTime();
+        finishedNanos = 0;
+        runner.submit(this::execute);
+        return getStatus();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onParameterChanged(SystemParameterChangedEvent event) {
+        if (RATE_KEYS.contains(event.paramKey())) {
+            parameterRegistry.refresh();
+            start();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMissingSchedules() {
+        if (scheduleRepository.existsActiveLoanWithoutSchedule()) start();
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("status", outcome);
+        status.put("processedLoans", processed);
+        status.put("rebuiltLoans", rebuilt);
+        status.put("lastLoanId", lastLoanId);
+        if (startedNanos != 0) {
+            long endNanos = finishedNanos != 0 ? finishedNanos : System.nanoTime();
+            double seconds = (endNanos - startedNanos) / 1_000_000_000.0;
+            status.put("loansPerSecond", seconds > 0 ? processed / seconds : 0);
+        }
+        status.put("startedAt", startedAt);
+        status.put("finishedAt", finishedAt);
+        status.put("lastError", lastError);
+        return status;
+    }
+
+    private void execute() {
+        String result = "COMPLETED";
+        String error = null;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                synchronized (this) {
+                    if (restartRequested) {
+                        result = "RESTARTED";
+                        break;
+                    }
+                }
+                if (!rebuildNextChunk()) break;
+            }
+        } catch (RuntimeException e) {
+            logger.error("Loan schedule regeneration failed after loan {}", lastLoanId, e);
+            result = "FAILED";
+            error = String.valueOf(e.getMessage());
+        }
+
+        boolean restart;
+        synchronized (this) {
+            finishedNanos = System.nanoTime();
+            finishedAt = LocalDateTime.now();
+            outcome = result;
+            lastError = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+            restart = restartRequested;
+            running = false;
+        }
+        logger.info("Loan schedule regeneration {}: {} loans, {} rebuilt", result, processed, rebuilt);
+        if (restart) start();
+    }
+
+    private boolean rebuildNextChunk() {
+        long after = lastLoanId;
+        Integer done = transactionTemplate.execute(status -> {
+            List<LoanTerms> chunk = scheduleRepository.lockActiveChunk(after, chunkSize);
+            if (chunk.isEmpty()) return null;
+
+            long last = chunk.get(chunk.size() - 1).id();
+            Map<Long, List<Row>> schedules = scheduleRepository.findSchedules(after, last);
+            List<ScheduleWrite> writes = schedulePool.submit(() -> chunk.parallelStream()
+                    .map(loan -> loanScheduleService.plan(loan, schedules.getOrDefault(loan.id(), List.of())))
+                    .filter(Objects::nonNull)
+                    .toList()).join();
+
+            scheduleRepository.saveSchedules(writes);
+            if (!writes.isEmpty()) {
+                Set<Long> writtenIds = writes.stream().map(ScheduleWrite::loanId).collect(Collectors.toSet());
+                Set<Long> clientIds = chunk.stream().filter(loan -> writtenIds.contains(loan.id()))
+                        .map(LoanTerms::clientId).collect(Collectors.toSet());
+                eventPublisher.publishEvent(new ClientDashboardChangedEvent(clientIds, Set.of()));
+            }
+            lastLoanId = last;
+            rebuilt += writes.size();
+            return chunk.size();
+        });
+        if (done == null) return false;
+        processed += done;
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        runner.shutdownNow();
+        runner.awaitTermination(5, TimeUnit.SECONDS);
+        schedulePool.shutdown();
+    }
+}
@@ -0,0 +1,142 @@
+package com.bank.core.service;
+
+import com.bank.core.domain.Loan;
+import com.bank.core.domain.LoanScheduleCalculator;
+import com.bank.core.domain.LoanScheduleCalculator.Row;
+import com.bank.core.domain.Money;
+import com.bank.core.domain.enums.LoanStatus;
+import com.bank.core.domain.enums.RepaymentType;
+import com.bank.core.domain.enums.SystemParameterKey;
+import com.bank.core.repository.LoanScheduleJdbcRepository;
+import com.bank.core.repository.LoanScheduleJdbcRepository.LoanTerms;
+import com.bank.core.repository.LoanScheduleJdbcRepository.ScheduleWrite;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Repayment schedules of individual loans: created when a loan is issued, rebuilt when the rate changes,
+ * and the target of loan payments. Callers run inside their own transaction.
+ */
+@Service
+@RequiredArgsConstructor
+public class LoanScheduleService {
+
+    private final LoanScheduleJdbcRepository scheduleRepository;
+    private final SystemParameterRegistry parameterRegistry;
+
+    /**
+     * Annual rate in basis points for a loan term; the rate parameters are percentages, so their minor units are basis points.
+     */
+    public long annualRateBp(int termMonths) {
+        SystemParameterKey key;
+        if (termMonths <= 12) key = SystemParameterKey.LOAN_RATE_UP_TO_12M;
+        else if (termMonths <= 36) key = SystemParameterKey.LOAN_RATE_UP_TO_36M;
+        else key = SystemParameterKey.LOAN_RATE_OVER_36M;
+        return parameterRegistry.getMinorUnits(key);
+    }
+
+    /**
+     * Fills in rate, totals and first payment of a new loan, saved by the caller, and returns its schedule.
+     */
+    public List<Row> prepare(Loan loan, int termMonths) {
+        long rateBp = annualRateBp(termMonths);
+        List<Row> schedule = LoanScheduleCalculator.build(repaymentType(loan.getRepaymentType()),
+                Money.toMinor(loan.getPrincipalAmount(), RoundingMode.HALF_UP), rateBp, termMonths, 1, loan.getStartDate());
+        loan.setInterestRate(BigDecimal.valueOf(rateBp, 4));
+        applyTotals(loan, schedule);
+        return schedule;
+    }
+
+    /**
+     * Stores the schedule returned by {@link #prepare} once the loan has its id.
+     */
+    public void store(Loan loan, List<Row> schedule) {
+        scheduleRepository.insertRows(loan.getId(), schedule);
+    }
+
+    /**
+     * Applies a payment to the earliest unpaid installments and updates the loan totals.
+     * A loan issued before schedules existed gets its schedule first.
+     *
+     * @return the amount actually applied, never more than the outstanding debt
+     */
+    public long applyPayment(Loan loan, long amountMinor) {
+        List<Row> schedule = scheduleRepository.findSchedule(loan.getId());
+        if (schedule.isEmpty()) {
+            ScheduleWrite write = plan(terms(loan), schedule);
+            if (write == null) return 0;
+            scheduleRepository.saveSchedules(List.of(write));
+            loan.setInterestRate(BigDecimal.valueOf(write.annualRateBp(), 4));
+            schedule = write.rows();
+        }
+
+        List<Row> paid = LoanScheduleCalculator.pay(schedule, amountMinor);
+        List<Row> changed = new ArrayList<>();
+        for (int i = 0; i < paid.size(); i++) {
+            if (paid.get(i).paidMinor() != schedule.get(i).paidMinor()) changed.add(paid.get(i));
+        }
+        scheduleRepository.updatePaid(loan.getId(), changed);
+        applyTotals(loan, paid);
+        return LoanScheduleCalculator.outstandingMinor(schedule) - LoanScheduleCalculator.outstandingMinor(paid);
+    }
+
+    /**
+     * The rebuilt schedule of an active loan at the current rate, or {@code null} when the loan has no term dates.
+     */
+    public ScheduleWrite plan(LoanTerms loan, List<Row> current) {
+        if (loan.startDate() == null || loan.endDate() == null) return null;
+        int termMonths = termMonths(loan.startDate(), loan.endDate());
+        long rateBp = annualRateBp(termMonths);
+        long legacyPaid = current.isEmpty() ? Math.max(0, loan.totalMinor() - loan.remainingMinor()) : 0;
+
+        List<Row> schedule = LoanScheduleCalculator.regenerate(loan.repaymentType(), loan.principalMinor(), rateBp,
+                termMonths, loan.startDate(), current, legacyPaid);
+        return toWrite(loan.id(), LoanScheduleCalculator.settledPrefix(current), schedule, rateBp);
+    }
+
+    static int termMonths(LocalDate startDate, LocalDate endDate) {
+        return (int) Math.max(1, ChronoUnit.MONTHS.between(startDate, endDate));
+    }
+
+    private static LoanTerms terms(Loan loan) {
+        return new LoanTerms(loan.getId(), loan.getClient().getId(),
+                Money.toMinor(loan.getPrincipalAmount(), RoundingMode.HALF_UP),
+                Money.toMinor(loan.getTotalAmountToRepay(), RoundingMode.HALF_UP),
+                Money.toMinor(loan.getRemainingDebt(), RoundingMode.HALF_UP),
+                repaymentType(loan.getRepaymentType()), loan.getStartDate(), loan.getEndDate());
+    }
+
+    private static ScheduleWrite toWrite(long loanId, int keptRows, List<Row> schedule, long rateBp) {
+        long remaining = LoanScheduleCalculator.outstandingMinor(schedule);
+        return new ScheduleWrite(loanId, keptRows, schedule, rateBp, LoanScheduleCalculator.totalMinor(schedule),
+                remaining, monthlyPaymentMinor(schedule), remaining == 0 ? LoanStatus.PAID : LoanStatus.ACTIVE);
+    }
+
+    private static void applyTotals(Loan loan, List<Row> schedule) {
+        long remaining = LoanScheduleCalculator.outstandingMinor(schedule);
+        loan.setTotalAmountToRepay(Money.ofMinor(LoanScheduleCalculator.totalMinor(schedule)).toBigDecimal());
+        loan.setRemainingDebt(Money.ofMinor(remaining).toBigDecimal());
+        loan.setMonthlyPayment(Money.ofMinor(monthlyPaymentMinor(schedule)).toBigDecimal());
+        if (remaining == 0) loan.setStatus(LoanStatus.PAID);
+    }
+
+    /**
+     * The amount of the installment currently due; for a repaid loan, the last installment.
+     */
+    private static long monthlyPaymentMinor(List<Row> schedule) {
+        Row next = LoanScheduleCalculator.nextDue(schedule);
+        if (next != null) return next.amountMinor();
+        return schedule.isEmpty() ? 0 : schedule.get(schedule.size() - 1).amountMinor();
+    }
+
+    private static RepaymentType repaymentType(RepaymentType type) {
+        return type != null ? type : RepaymentType.ANNUITY;
+    }
+}
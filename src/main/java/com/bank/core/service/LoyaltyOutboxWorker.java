@@ -0,0 +1,161 @@
+package com.bank.core.service;
+
+import com.bank.core.domain.LoyaltyOutboxEvent;
+import com.bank.core.domain.enums.OutboxStatus;
+import com.bank.core.repository.CardRepository;
+import com.bank.core.repository.LoyaltyOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+@Service
+public class LoyaltyOutboxWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoyaltyOutboxWorker.class);
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    private final LoyaltyOutboxRepository outboxRepository;
+    private final CardRepository cardRepository;
+    private final LoyaltyService loyaltyService;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    private final LongAdder processedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder lagMillisTotal = new LongAdder();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+    private final AtomicLong lastDrainMillis = new AtomicLong();
+
+    public LoyaltyOutboxWorker(LoyaltyOutboxRepository outboxRepository,
+                               CardRepository cardRepository,
+                               LoyaltyService loyaltyService,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${bank.loyalty.outbox.workers:4}") int workers,
+                               @Value("${bank.loyalty.outbox.queue-capacity:64}") int queueCapacity,
+                               @Value("${bank.loyalty.outbox.batch-size:200}") int batchSize,
+                               @Value("${bank.loyalty.outbox.max-attempts:5}") int maxAttempts) {
+        this.outboxRepository = outboxRepository;
+        this.cardRepository = cardRepository;
+        this.loyaltyService = loyaltyService;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Scheduled(fixedDelayString = "${bank.loyalty.outbox.poll-interval-ms:500}")
+    public void drain() {
+        long started = System.nanoTime();
+        List<LoyaltyOutboxEvent> batch;
+        boolean clean;
+        do {
+            batch = outboxRepository.findByStatusOrderByIdAsc(OutboxStatus.PENDING, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) break;
+            clean = process(batch);
+        } while (clean && batch.size() == batchSize);
+        lastDrainMillis.set(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private boolean process(List<LoyaltyOutboxEvent> batch) {
+        Set<Long> cardIds = batch.stream().map(LoyaltyOutboxEvent::getCardId).collect(Collectors.toSet());
+        Map<Long, Long> owners = cardRepository.findOwnersByIdIn(cardIds).stream()
+                .collect(Collectors.toMap(CardRepository.CardOwnerView::getCardId, CardRepository.CardOwnerView::getClientId));
+
+        Map<Long, List<LoyaltyOutboxEvent>> byClient = batch.stream()
+                .collect(Collectors.groupingBy(e -> owners.getOrDefault(e.getCardId(), -e.getCardId()),
+                        LinkedHashMap::new, Collectors.toList()));
+
+        List<Future<Boolean>> futures = new ArrayList<>(byClient.size());
+        for (List<LoyaltyOutboxEvent> group : byClient.values()) {
+            futures.add(executor.submit(() -> applyGroup(group)));
+        }
+
+        boolean clean = true;
+        for (Future<Boolean> future : futures) {
+            try {
+                clean &= future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (ExecutionException e) {
+                logger.error("Loyalty outbox group failed", e.getCause());
+                clean = false;
+            }
+        }
+        return clean;
+    }
+
+    private boolean applyGroup(List<LoyaltyOutboxEvent> group) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> group.forEach(this::applyOne));
+            group.forEach(this::recordApplied);
+            return true;
+        } catch (RuntimeException groupError) {
+            for (LoyaltyOutboxEvent event : group) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> applyOne(event));
+                    recordApplied(event);
+                } catch (RuntimeException e) {
+                    logger.warn("Loyalty accrual for transaction {} failed: {}", event.getTransactionId(), e.getMessage());
+                    String error = String.valueOf(e.getMessage());
+                    transactionTemplate.executeWithoutResult(status -> outboxRepository.registerFailure(event.getId(),
+                            error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error, maxAttempts));
+                    failedCount.increment();
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private void applyOne(LoyaltyOutboxEvent event) {
+        if (outboxRepository.markProcessed(event.getId(), LocalDateTime.now()) == 1) {
+            loyaltyService.applyLoyaltyProgram(event);
+        }
+    }
+
+    private void recordApplied(LoyaltyOutboxEvent event) {
+        long lag = Math.max(0, Duration.between(event.getCreatedAt(), LocalDateTime.now()).toMillis());
+        processedCount.increment();
+        lagMillisTotal.add(lag);
+        maxLagMillis.accumulateAndGet(lag, Math::max);
+    }
+
+    public Map<String, Object> getStats() {
+        long processed = processedCount.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pending", outboxRepository.countByStatus(OutboxStatus.PENDING));
+        stats.put("failed", outboxRepository.countByStatus(OutboxStatus.FAILED));
+        stats.put("oldestPendingAgeMs", outboxRepository.findOldestCreatedAtByStatus(OutboxStatus.PENDING)
+                .map(createdAt -> Duration.between(createdAt, LocalDateTime.now()).toMillis())
+                .orElse(0L));
+        stats.put("processedSinceStart", processed);
+        stats.put("failuresSinceStart", failedCount.sum());
+        stats.put("avgLagMs", processed == 0 ? 0 : lagMillisTotal.sum() / processed);
+        stats.put("maxLagMs", maxLagMillis.get());
+        stats.put("lastDrainMs", lastDrainMillis.get());
+        stats.put("queuedGroups", executor.getQueue().size());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
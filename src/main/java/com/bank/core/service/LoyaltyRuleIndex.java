@@ -0,0 +1,129 @@
+package com.bank.core.service;
+
+import com.bank.core.domain.LoyaltyRule;
+import com.bank.core.event.LoyaltyRulesChangedEvent;
+import com.bank.core.repository.LoyaltyRuleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class LoyaltyRuleIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoyaltyRuleIndex.class);
+    private static final int NUMERIC_MCC_SLOTS = 10000;
+    private static final int CASHBACK_RATE_SCALE = 4;
+
+    public record MccRule(Long id, String mccCode, String categoryName, BigDecimal cashbackRate, long cashbackRateE4,
+                          boolean bonusPoints) {
+    }
+
+    private record Snapshot(MccRule[] byNumericMcc, Map<String, MccRule> byOtherMcc, List<MccRule> rules) {
+    }
+
+    private final LoyaltyRuleRepository ruleRepository;
+
+    private volatile Snapshot snapshot;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong driftsDetected = new AtomicLong();
+
+    public LoyaltyRuleIndex(LoyaltyRuleRepository ruleRepository) {
+        this.ruleRepository = ruleRepository;
+    }
+
+    public MccRule find(String mccCode) {
+        Snapshot current = current();
+        int numeric = parseNumericMcc(mccCode);
+        MccRule rule = numeric >= 0 ? current.byNumericMcc()[numeric] : current.byOtherMcc().get(mccCode);
+        if (rule != null) hits.increment();
+        else misses.increment();
+        return rule;
+    }
+
+    public synchronized void refresh() {
+        snapshot = build(ruleRepository.findAll());
+        refreshes.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRulesChanged(LoyaltyRulesChangedEvent event) {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${bank.loyalty.rules.consistency-check-ms:60000}",
+            initialDelayString = "${bank.loyalty.rules.consistency-check-ms:60000}")
+    public synchronized void verifyConsistency() {
+        Snapshot fresh = build(ruleRepository.findAll());
+        Snapshot current = snapshot;
+        if (current != null && !current.rules().equals(fresh.rules())) {
+            logger.warn("Loyalty rules changed outside of the admin API, index rebuilt ({} -> {} rules)",
+                    current.rules().size(), fresh.rules().size());
+            driftsDetected.incrementAndGet();
+        }
+        snapshot = fresh;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("rules", current().rules().size());
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("refreshes", refreshes.get());
+        stats.put("driftsDetected", driftsDetected.get());
+        return stats;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) refresh();
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private static Snapshot build(List<LoyaltyRule> entities) {
+        MccRule[] byNumericMcc = new MccRule[NUMERIC_MCC_SLOTS];
+        Map<String, MccRule> byOtherMcc = new HashMap<>();
+        List<MccRule> rules = new ArrayList<>(entities.size());
+
+        for (LoyaltyRule entity : entities) {
+            BigDecimal rate = entity.getCashbackRate() != null ? entity.getCashbackRate() : BigDecimal.ZERO;
+            MccRule rule = new MccRule(entity.getId(), entity.getMccCode(), entity.getCategoryName(), rate,
+                    rate.movePointRight(CASHBACK_RATE_SCALE).setScale(0, RoundingMode.HALF_UP).longValueExact(),
+                    Boolean.TRUE.equals(entity.getIsBonusPoints()));
+            rules.add(rule);
+
+            int numeric = parseNumericMcc(rule.mccCode());
+            if (numeric >= 0) byNumericMcc[numeric] = rule;
+            else byOtherMcc.put(rule.mccCode(), rule);
+        }
+
+        rules.sort(Comparator.comparing(MccRule::id));
+        return new Snapshot(byNumericMcc, Map.copyOf(byOtherMcc), List.copyOf(rules));
+    }
+
+    private static int parseNumericMcc(String mccCode) {
+        if (mccCode == null || mccCode.length() != 4) return -1;
+        int value = 0;
+        for (int i = 0; i < mccCode.length(); i++) {
+            char c = mccCode.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
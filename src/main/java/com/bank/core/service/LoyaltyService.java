@@ -3,8 +3,12 @@ package com.bank.core.service;
 import com.bank.core.domain.*;
 import com.bank.core.domain.enums.BonusType;
 import com.bank.core.domain.enums.RiskClass;
+import com.bank.core.domain.enums.SystemParameterKey;
+import com.bank.core.event.ClientDashboardChangedEvent;
 import com.bank.core.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,44 +19,47 @@ import java.math.RoundingMode;
 @RequiredArgsConstructor
 public class LoyaltyService {
 
-    private final LoyaltyRuleRepository ruleRepository;
+    private static final long POINTS_STEP_MINOR = 10 * Money.MINOR_PER_UNIT;
+
+    private final LoyaltyRuleIndex loyaltyRuleIndex;
     private final BonusAccountRepository bonusAccountRepository;
     private final BonusLedgerRepository bonusLedgerRepository;
     private final CardRepository cardRepository;
-    private final SystemParameterRepository paramRepository;
+    private final SystemParameterRegistry parameterRegistry;
+    private final TransactionRepository transactionRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
-    public void applyLoyaltyProgram(Transaction transaction) {
-        LoyaltyRule rule = ruleRepository.findByMccCode(transaction.getMccCode()).orElse(null);
+    public void applyLoyaltyProgram(LoyaltyOutboxEvent event) {
+        LoyaltyRuleIndex.MccRule rule = loyaltyRuleIndex.find(event.getMccCode());
         if (rule == null) return;
 
-        Card card = transaction.getCard();
+        Card card = cardRepository.findById(event.getCardId())
+                .orElseThrow(() -> new RuntimeException("Карта не найдена"));
         Client client = card.getClient();
         BonusAccount bonusAccount = bonusAccountRepository.findByClientId(client.getId())
                 .orElseThrow(() -> new RuntimeException("Нет бонусного счета"));
 
-        BigDecimal amount = transaction.getAmount();
+        Transaction transaction = transactionRepository.getReferenceById(event.getTransactionId());
+        long amountMinor = event.getAmount().minorUnits();
 
-        if (Boolean.TRUE.equals(rule.getIsBonusPoints())) {
-            int points = amount.divide(BigDecimal.valueOf(10), 0, RoundingMode.DOWN).intValue();
+        if (rule.bonusPoints()) {
+            int points = (int) Money.divide(amountMinor, POINTS_STEP_MINOR, RoundingMode.DOWN);
             if (points > 0) {
                 bonusAccount.setPointsBalance(bonusAccount.getPointsBalance() + points);
                 bonusAccountRepository.save(bonusAccount);
                 recordHistory(bonusAccount, transaction, BigDecimal.valueOf(points), BonusType.POINTS, "Начисление за покупку");
             }
         } else {
-            BigDecimal rate = rule.getCashbackRate();
-            if (client.getRiskClass() == RiskClass.LOW) rate = rate.multiply(BigDecimal.valueOf(1.5));
-            else if (client.getRiskClass() == RiskClass.HIGH) rate = rate.divide(BigDecimal.valueOf(2), 4, RoundingMode.HALF_UP);
-
-            BigDecimal cashback = amount.multiply(rate).setScale(2, RoundingMode.HALF_UP);
+            long cashbackMinor = calculateCashbackMinor(amountMinor, rule.cashbackRateE4(), client.getRiskClass());
 
-            if (cashback.compareTo(BigDecimal.ZERO) > 0) {
-                card.setBalance(card.getBalance().add(cashback));
-                cardRepository.save(card);
+            if (cashbackMinor > 0) {
+                BigDecimal cashback = BigDecimal.valueOf(cashbackMinor, Money.SCALE);
+                cardRepository.credit(card.getId(), cashback);
                 recordHistory(bonusAccount, transaction, cashback, BonusType.CASHBACK_RUB, "Кешбэк за покупку");
             }
         }
+        eventPublisher.publishEvent(ClientDashboardChangedEvent.ofClient(client.getId()));
     }
 
     @Transactional
@@ -66,8 +73,7 @@ public class LoyaltyService {
             throw new RuntimeException("Недостаточно баллов");
         }
 
-        BigDecimal rate = new BigDecimal(paramRepository.findById("POINTS_RATE")
-                .map(SystemParameter::getParamValue).orElse("10"));
+        BigDecimal rate = parameterRegistry.getDecimal(SystemParameterKey.POINTS_RATE);
 
         BigDecimal money = BigDecimal.valueOf(pointsToConvert)
                 .divide(rate, 2, RoundingMode.HALF_UP);
@@ -76,13 +82,20 @@ public class LoyaltyService {
         bonusAccountRepository.save(account);
         recordHistory(account, null, BigDecimal.valueOf(pointsToConvert).negate(), BonusType.POINTS, "Конвертация в деньги");
 
-        Card card = cardRepository.findAll().stream()
-                .filter(c -> c.getClient().getId().equals(clientId))
+        Long cardId = cardRepository.findIdsByClientId(clientId, PageRequest.of(0, 1)).stream()
                 .findFirst()
                 .orElseThrow(() -> new RuntimeException("У клиента нет карт для зачисления"));
 
-        card.setBalance(card.getBalance().add(money));
-        cardRepository.save(card);
+        cardRepository.credit(cardId, money);
+        eventPublisher.publishEvent(ClientDashboardChangedEvent.ofClient(clientId));
+    }
+
+    static long calculateCashbackMinor(long amountMinor, long cashbackRateE4, RiskClass riskClass) {
+        long rateE5;
+        if (riskClass == RiskClass.LOW) rateE5 = cashbackRateE4 * 15;
+        else if (riskClass == RiskClass.HIGH) rateE5 = Money.divide(cashbackRateE4, 2, RoundingMode.HALF_UP) * 10;
+        else rateE5 = cashbackRateE4 * 10;
+        return Money.multiplyFraction(amountMinor, rateE5, 100_000, RoundingMode.HALF_UP);
     }
 
     private void recordHistory(BonusAccount account, Transaction tx, BigDecimal amount, BonusType type, String desc) {
@@ -0,0 +1,144 @@
+package com.bank.core.service;
+
+import com.bank.core.exception.ServiceBusyException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+@Service
+public class PasswordHashingService {
+
+    private static final String BUSY_MESSAGE = "Сервис авторизации перегружен, повторите попытку позже";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final int strength;
+    private final long admissionTimeoutMs;
+    private final long timeoutMs;
+
+    private final LongAdder operations = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder rehashes = new LongAdder();
+    private final LongAdder hashNanosTotal = new LongAdder();
+    private final LongAdder waitNanosTotal = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  @Value("${bank.password.bcrypt-strength:10}") int strength,
+                                  @Value("${bank.password.workers:0}") int workers,
+                                  @Value("${bank.password.queue-capacity:100}") int queueCapacity,
+                                  @Value("${bank.password.admission-timeout-ms:200}") long admissionTimeoutMs,
+                                  @Value("${bank.password.timeout-ms:5000}") long timeoutMs) {
+        this.passwordEncoder = passwordEncoder;
+        this.strength = strength;
+        this.admissionTimeoutMs = admissionTimeoutMs;
+        this.timeoutMs = timeoutMs;
+        int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public String encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * True when the stored hash was produced with a different work factor than the configured one.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || !encodedPassword.startsWith("$2")) return true;
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6)) != strength;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    public void recordRehash() {
+        rehashes.increment();
+    }
+
+    public Map<String, Object> getStats() {
+        long count = operations.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("strength", strength);
+        stats.put("workers", executor.getMaximumPoolSize());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("active", executor.getActiveCount());
+        stats.put("operations", count);
+        stats.put("rejected", rejected.sum());
+        stats.put("timedOut", timedOut.sum());
+        stats.put("rehashes", rehashes.sum());
+        stats.put("avgHashMillis", count == 0 ? 0 : hashNanosTotal.sum() / count / 1_000_000.0);
+        stats.put("avgQueueWaitMillis", count == 0 ? 0 : waitNanosTotal.sum() / count / 1_000_000.0);
+        stats.put("maxQueueWaitMillis", maxWaitNanos.get() / 1_000_000.0);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * The request thread waits at most {@code admissionTimeoutMs} for a worker to pick the hash up and is
+     * answered with 503 otherwise, so a backlog never holds request threads for longer than that plus one hash.
+     */
+    private <T> T submit(Supplier<T> work) {
+        long submitted = System.nanoTime();
+        CountDownLatch started = new CountDownLatch(1);
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                started.countDown();
+                long startedAt = System.nanoTime();
+                long waited = startedAt - submitted;
+                waitNanosTotal.add(waited);
+                maxWaitNanos.accumulateAndGet(waited, Math::max);
+                try {
+                    return work.get();
+                } finally {
+                    hashNanosTotal.add(System.nanoTime() - startedAt);
+                    operations.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceBusyException(BUSY_MESSAGE);
+        }
+
+        try {
+            // a task that started just after the wait ran out can no longer be cancelled and is waited for
+            if (!started.await(admissionTimeoutMs, TimeUnit.MILLISECONDS) && future.cancel(false)) {
+                executor.remove((Runnable) future);
+                timedOut.increment();
+                throw new ServiceBusyException(BUSY_MESSAGE);
+            }
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.increment();
+            throw new ServiceBusyException(BUSY_MESSAGE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new ServiceBusyException(BUSY_MESSAGE);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
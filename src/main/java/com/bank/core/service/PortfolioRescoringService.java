@@ -0,0 +1,283 @@
+package com.bank.core.service;
+
+import com.bank.core.domain.Money;
+import com.bank.core.domain.RescoringRun;
+import com.bank.core.domain.enums.LoanStatus;
+import com.bank.core.domain.enums.RescoringStatus;
+import com.bank.core.domain.enums.RiskClass;
+import com.bank.core.domain.enums.SystemParameterKey;
+import com.bank.core.event.ClientDashboardChangedEvent;
+import com.bank.core.event.ScorecardChangedEvent;
+import com.bank.core.event.SystemParameterChangedEvent;
+import com.bank.core.repository.ClientRepository;
+import com.bank.core.repository.ClientScoreJdbcRepository;
+import com.bank.core.repository.ClientScoreJdbcRepository.ScoreUpdate;
+import com.bank.core.repository.ClientScoreJdbcRepository.ScoringInput;
+import com.bank.core.repository.LoanRepository;
+import com.bank.core.repository.RescoringRunRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Rescores the whole client portfolio after a BPM or scorecard change.
+ * Clients are read in id-ordered chunks with the active loan load of a chunk preloaded by one grouped query,
+ * scored on a fork-join pool and written back with a JDBC batch; every chunk commits its checkpoint
+ * together with the scores, so a restarted application resumes where the previous run stopped.
+ */
+@Service
+public class PortfolioRescoringService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PortfolioRescoringService.class);
+    private static final int MAX_ERROR_LENGTH = 255;
+    private static final String SUPERSEDED = "Значение BPM или скоринговая карта изменились";
+
+    private final ClientRepository clientRepository;
+    private final LoanRepository loanRepository;
+    private final ClientScoreJdbcRepository scoreRepository;
+    private final RescoringRunRepository runRepository;
+    private final SystemParameterRegistry parameterRegistry;
+    private final ScorecardRegistry scorecardRegistry;
+    private final ClientDirectoryIndex clientDirectoryIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool scoringPool;
+    private final ExecutorService runner;
+    private final int chunkSize;
+
+    private RescoringRun activeRun;
+    private volatile long sessionRunId;
+    private volatile long sessionStartedNanos;
+    private volatile long sessionFinishedNanos;
+    private volatile long sessionProcessed;
+
+    public PortfolioRescoringService(ClientRepository clientRepository,
+                                     LoanRepository loanRepository,
+                                     ClientScoreJdbcRepository scoreRepository,
+                                     RescoringRunRepository runRepository,
+                                     SystemParameterRegistry parameterRegistry,
+                                     ScorecardRegistry scorecardRegistry,
+                                     ClientDirectoryIndex clientDirectoryIndex,
+                                     ApplicationEventPublisher eventPublisher,
+                                     TransactionTemplate transactionTemplate,
+                                     @Value("${bank.rescoring.parallelism:0}") int parallelism,
+                                     @Value("${bank.rescoring.chunk-size:1000}") int chunkSize) {
+        this.clientRepository = clientRepository;
+        this.loanRepository = loanRepository;
+        this.scoreRepository = scoreRepository;
+        this.runRepository = runRepository;
+        this.parameterRegistry = parameterRegistry;
+        this.scorecardRegistry = scorecardRegistry;
+        this.clientDirectoryIndex = clientDirectoryIndex;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.scoringPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.runner = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "portfolio-rescoring");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts a run unless one is already in progress. An interrupted run is resumed from its checkpoint
+     * when it was started with the current BPM and scorecard, otherwise it is cancelled and a fresh run starts.
+     */
+    public synchronized Map<String, Object> start() {
+        if (activeRun != null) return getStatus();
+
+        long bpmMinor = parameterRegistry.getMinorUnits(SystemParameterKey.BPM);
+        long scorecardVersion = scorecardRegistry.current().version();
+        RescoringRun run = runRepository.findFirstByStatusOrderByIdDesc(RescoringStatus.RUNNING).orElse(null);
+        if (run != null && (run.getBpmMinor() != bpmMinor || run.getScorecardVersion() != scorecardVersion)) {
+            finish(run, RescoringStatus.CANCELLED, SUPERSEDED);
+            run = null;
+        }
+        if (run == null) {
+            run = new RescoringRun();
+            run.setBpmMinor(bpmMinor);
+            run.setScorecardVersion(scorecardVersion);
+            run.setTotalClients(clientRepository.count());
+            run = runRepository.save(run);
+        } else {
+            logger.info("Resuming portfolio rescoring run {} after client {}", run.getId(), run.getLastClientId());
+        }
+
+        activeRun = run;
+        sessionRunId = run.getId();
+        sessionStartedNanos = System.nanoTime();
+        sessionFinishedNanos = 0;
+        sessionProcessed = 0;
+        RescoringRun submitted = run;
+        runner.submit(() -> execute(submitted));
+        return getStatus();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onParameterChanged(SystemParameterChangedEvent event) {
+        if (SystemParameterKey.BPM.name().equals(event.paramKey())) {
+            parameterRegistry.refresh();
+            start();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScorecardChanged(ScorecardChangedEvent event) {
+        scorecardRegistry.refresh();
+        start();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        if (runRepository.findFirstByStatusOrderByIdDesc(RescoringStatus.RUNNING).isPresent()) start();
+    }
+
+    public synchronized Map<String, Object> getStatus() {
+        RescoringRun run = activeRun != null ? activeRun : runRepository.findFirstByOrderByIdDesc().orElse(null);
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (run == null) {
+            status.put("status", "IDLE");
+            return status;
+        }
+        status.put("runId", run.getId());
+        status.put("status", run.getStatus());
+        status.put("processed", run.getProcessed());
+        status.put("totalClients", run.getTotalClients());
+        status.put("changed", run.getChanged());
+        status.put("lastClientId", run.getLastClientId());
+        status.put("progressPercent", run.getTotalClients() == 0 ? 100.0
+                : Math.min(100.0, run.getProcessed() * 100.0 / run.getTotalClients()));
+        if (run.getId() == sessionRunId) {
+            long endNanos = sessionFinishedNanos != 0 ? sessionFinishedNanos : System.nanoTime();
+            double seconds = (endNanos - sessionStartedNanos) / 1_000_000_000.0;
+            status.put("clientsPerSecond", seconds > 0 ? sessionProcessed / seconds : 0);
+        }
+        status.put("startedAt", run.getStartedAt());
+        status.put("updatedAt", run.getUpdatedAt());
+        status.put("finishedAt", run.getFinishedAt());
+        status.put("lastError", run.getLastError());
+        return status;
+    }
+
+    private void execute(RescoringRun run) {
+        long bpmMinor = run.getBpmMinor();
+        CompiledScorecard scorecard = scorecardRegistry.current();
+        LocalDate today = LocalDate.now();
+        boolean changedAny = run.getChanged() > 0;
+        RescoringStatus outcome = RescoringStatus.COMPLETED;
+        String error = null;
+
+        try {
+            while (true) {
+                if (Thread.currentThread().isInterrupted()) return;
+                if (parameterRegistry.getMinorUnits(SystemParameterKey.BPM) != bpmMinor
+                        || scorecardRegistry.current() != scorecard || scorecard.version() != run.getScorecardVersion()) {
+                    outcome = RescoringStatus.CANCELLED;
+                    error = SUPERSEDED;
+                    break;
+                }
+
+                Integer changed = transactionTemplate.execute(status -> {
+                    List<ScoringInput> chunk = scoreRepository.lockScoringChunk(run.getLastClientId(), chunkSize);
+                    if (chunk.isEmpty()) return null;
+
+                    List<Long> clientIds = chunk.stream().map(ScoringInput::id).toList();
+                    Map<Long, LoanRepository.LoanLoadView> loads = loanRepository.summarizeByClientIdIn(clientIds, LoanStatus.ACTIVE)
+                            .stream()
+                            .collect(Collectors.toMap(LoanRepository.LoanLoadView::getClientId, Function.identity()));
+
+                    List<ScoreUpdate> updates = scoringPool.submit(() -> chunk.parallelStream()
+                            .map(client -> rescore(scorecard, client, loads.get(client.id()), bpmMinor, today))
+                            .filter(Objects::nonNull)
+                            .toList()).join();
+
+                    checkpoint(run, clientIds.get(clientIds.size() - 1), chunk.size(), updates);
+                    return updates.size();
+                });
+                if (changed == null) break;
+                changedAny |= changed > 0;
+            }
+        } catch (RuntimeException e) {
+            logger.error("Portfolio rescoring run {} failed after client {}", run.getId(), run.getLastClientId(), e);
+            outcome = RescoringStatus.FAILED;
+            error = String.valueOf(e.getMessage());
+        }
+
+        synchronized (this) {
+            sessionFinishedNanos = System.nanoTime();
+            finish(run, outcome, error);
+            activeRun = null;
+        }
+        if (changedAny) clientDirectoryIndex.refresh();
+        logger.info("Portfolio rescoring run {} {}: {} clients, {} changed",
+                run.getId(), outcome, run.getProcessed(), run.getChanged());
+        if (outcome == RescoringStatus.CANCELLED) start();
+    }
+
+    /**
+     * Runs in the chunk's transaction, so the scores, the checkpoint and the client locks commit together.
+     */
+    private void checkpoint(RescoringRun run, long lastClientId, int processed, List<ScoreUpdate> updates) {
+        scoreRepository.updateScores(updates);
+        synchronized (this) {
+            run.setLastClientId(lastClientId);
+            run.setProcessed(run.getProcessed() + processed);
+            run.setChanged(run.getChanged() + updates.size());
+            run.setUpdatedAt(LocalDateTime.now());
+            runRepository.save(run);
+        }
+        if (!updates.isEmpty()) {
+            Set<Long> changedIds = updates.stream().map(ScoreUpdate::clientId).collect(Collectors.toSet());
+            eventPublisher.publishEvent(new ClientDashboardChangedEvent(changedIds, Set.of()));
+        }
+        sessionProcessed += processed;
+    }
+
+    private void finish(RescoringRun run, RescoringStatus status, String error) {
+        run.setStatus(status);
+        run.setLastError(error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        run.setUpdatedAt(LocalDateTime.now());
+        run.setFinishedAt(run.getUpdatedAt());
+        runRepository.save(run);
+    }
+
+    private static ScoreUpdate rescore(CompiledScorecard scorecard, ScoringInput client,
+                                       LoanRepository.LoanLoadView load, long bpmMinor, LocalDate today) {
+        long loanCount = load != null ? load.getLoanCount() : 0;
+        long paymentsMinor = load != null ? Money.toMinor(load.getTotalMonthlyPayment(), RoundingMode.HALF_UP) : 0;
+
+        int score = scorecard.score(Money.toMinor(client.monthlyIncome(), RoundingMode.HALF_UP),
+                client.employmentStartDate(), client.maritalStatus(), client.birthDate(),
+                false, loanCount, paymentsMinor, bpmMinor, today);
+        RiskClass riskClass = scorecard.riskClassFor(score);
+
+        if (Objects.equals(client.creditHistoryScore(), score) && client.riskClass() == riskClass) return null;
+        return new ScoreUpdate(client.id(), score, riskClass);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        runner.shutdownNow();
+        runner.awaitTermination(5, TimeUnit.SECONDS);
+        scoringPool.shutdown();
+    }
+}
@@ -0,0 +1,82 @@
+package com.bank.core.service;
+
+import com.bank.core.domain.Scorecard;
+import com.bank.core.dto.ScorecardDefinition;
+import com.bank.core.event.ScorecardChangedEvent;
+import com.bank.core.repository.ScorecardRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+
+/**
+ * Holds the compiled active scorecard. A new version is compiled off to the side and published
+ * with a single volatile write, so in-flight scoring always sees one complete version.
+ */
+@Component
+public class ScorecardRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScorecardRegistry.class);
+
+    private final ScorecardRepository scorecardRepository;
+    private final ObjectMapper objectMapper;
+
+    private volatile CompiledScorecard current;
+
+    public ScorecardRegistry(ScorecardRepository scorecardRepository, ObjectMapper objectMapper) {
+        this.scorecardRepository = scorecardRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public CompiledScorecard current() {
+        CompiledScorecard scorecard = current;
+        if (scorecard == null) {
+            synchronized (this) {
+                if (current == null) refresh();
+                scorecard = current;
+            }
+        }
+        return scorecard;
+    }
+
+    public synchronized void refresh() {
+        Optional<Scorecard> active = scorecardRepository.findFirstByActiveTrueOrderByVersionDesc();
+        if (active.isEmpty()) {
+            if (current == null) current = CompiledScorecard.compile(0, ScorecardDefinition.defaults());
+            return;
+        }
+        if (current != null && current.version() == active.get().getVersion()) return;
+
+        try {
+            current = CompiledScorecard.compile(active.get().getVersion(), parse(active.get().getDefinition()));
+        } catch (RuntimeException e) {
+            logger.warn("Ignoring invalid scorecard version {}: {}", active.get().getVersion(), e.getMessage());
+            if (current == null) current = CompiledScorecard.compile(0, ScorecardDefinition.defaults());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScorecardChanged(ScorecardChangedEvent event) {
+        refresh();
+    }
+
+    public ScorecardDefinition parse(String definition) {
+        try {
+            return objectMapper.readValue(definition, ScorecardDefinition.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Некорректное описание скоринговой карты: " + e.getOriginalMessage());
+        }
+    }
+
+    public String serialize(ScorecardDefinition definition) {
+        try {
+            return objectMapper.writeValueAsString(definition);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
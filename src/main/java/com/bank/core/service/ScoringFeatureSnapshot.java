@@ -0,0 +1,102 @@
+package com.bank.core.service;
+
+import com.bank.core.repository.ScoringFeatureJdbcRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column-per-feature copy of the scoring inputs of every client (about 30 bytes per client),
+ * so that a what-if run is a tight loop over primitive arrays instead of entity loads.
+ * Dates are kept packed (see {@link CompiledScorecard#packDate}) and marital status as a dictionary code,
+ * code 0 standing for "not specified".
+ */
+final class ScoringFeatureSnapshot {
+
+    static final int NO_DATE = Integer.MIN_VALUE;
+
+    final int size;
+    final long[] incomeMinor;
+    final int[] birthDate;
+    final int[] employmentStart;
+    final byte[] maritalCode;
+    final String[] maritalDictionary;
+    final int[] activeLoans;
+    final long[] monthlyPaymentsMinor;
+    final byte[] storedRiskClass;
+    final LocalDateTime builtAt;
+    final long buildMillis;
+
+    private ScoringFeatureSnapshot(Builder builder, long buildMillis) {
+        this.size = builder.size;
+        this.incomeMinor = Arrays.copyOf(builder.incomeMinor, size);
+        this.birthDate = Arrays.copyOf(builder.birthDate, size);
+        this.employmentStart = Arrays.copyOf(builder.employmentStart, size);
+        this.maritalCode = Arrays.copyOf(builder.maritalCode, size);
+        this.maritalDictionary = builder.maritalDictionary.toArray(new String[0]);
+        this.activeLoans = Arrays.copyOf(builder.activeLoans, size);
+        this.monthlyPaymentsMinor = Arrays.copyOf(builder.monthlyPaymentsMinor, size);
+        this.storedRiskClass = Arrays.copyOf(builder.storedRiskClass, size);
+        this.builtAt = LocalDateTime.now();
+        this.buildMillis = buildMillis;
+    }
+
+    static ScoringFeatureSnapshot load(ScoringFeatureJdbcRepository repository) {
+        long started = System.nanoTime();
+        Builder builder = new Builder();
+        repository.forEachFeatureRow(builder::add);
+        return new ScoringFeatureSnapshot(builder, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static final class Builder {
+        private int size;
+        private long[] incomeMinor = new long[1024];
+        private int[] birthDate = new int[1024];
+        private int[] employmentStart = new int[1024];
+        private byte[] maritalCode = new byte[1024];
+        private int[] activeLoans = new int[1024];
+        private long[] monthlyPaymentsMinor = new long[1024];
+        private byte[] storedRiskClass = new byte[1024];
+        private final List<String> maritalDictionary = new ArrayList<>();
+        private final Map<String, Byte> maritalCodes = new HashMap<>();
+
+        Builder() {
+            maritalDictionary.add(null);
+        }
+
+        void add(ScoringFeatureJdbcRepository.FeatureRow row) {
+            if (size == incomeMinor.length) grow();
+            incomeMinor[size] = row.incomeMinor();
+            birthDate[size] = CompiledScorecard.packDate(row.birthDate());
+            employmentStart[size] = row.employmentStartDate() != null ? CompiledScorecard.packDate(row.employmentStartDate()) : NO_DATE;
+            maritalCode[size] = row.maritalStatus() != null ? code(row.maritalStatus()) : 0;
+            activeLoans[size] = (int) row.activeLoans();
+            monthlyPaymentsMinor[size] = row.monthlyPaymentsMinor();
+            storedRiskClass[size] = (byte) row.riskClass().ordinal();
+            size++;
+        }
+
+        private byte code(String maritalStatus) {
+            return maritalCodes.computeIfAbsent(maritalStatus, value -> {
+                if (maritalDictionary.size() > Byte.MAX_VALUE) throw new IllegalStateException("Too many distinct marital statuses");
+                maritalDictionary.add(value);
+                return (byte) (maritalDictionary.size() - 1);
+            });
+        }
+
+        private void grow() {
+            int capacity = incomeMinor.length * 2;
+            incomeMinor = Arrays.copyOf(incomeMinor, capacity);
+            birthDate = Arrays.copyOf(birthDate, capacity);
+            employmentStart = Arrays.copyOf(employmentStart, capacity);
+            maritalCode = Arrays.copyOf(maritalCode, capacity);
+            activeLoans = Arrays.copyOf(activeLoans, capacity);
+            monthlyPaymentsMinor = Arrays.copyOf(monthlyPaymentsMinor, capacity);
+            storedRiskClass = Arrays.copyOf(storedRiskClass, capacity);
+        }
+    }
+}
@@ -2,31 +2,40 @@ package com.bank.core.service;
 
 import com.bank.core.domain.Client;
 import com.bank.core.domain.Loan;
+import com.bank.core.domain.Money;
 import com.bank.core.domain.enums.LoanStatus;
 import com.bank.core.domain.enums.RiskClass;
+import com.bank.core.domain.enums.SystemParameterKey;
 import com.bank.core.dto.ApplicationRequestDTO;
+import com.bank.core.dto.ScorecardDefinition;
 import com.bank.core.dto.ScoringResultDTO;
+import com.bank.core.event.ClientDashboardChangedEvent;
+import com.bank.core.event.ClientProfileChangedEvent;
 import com.bank.core.repository.ClientRepository;
 import com.bank.core.repository.LoanRepository;
-import com.bank.core.repository.SystemParameterRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.Period;
-import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ScoringService {
 
-    private final SystemParameterRepository paramRepository;
+    private final SystemParameterRegistry parameterRegistry;
+    private final ScorecardRegistry scorecardRegistry;
     private final LoanRepository loanRepository;
     private final ClientRepository clientRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ScoringResultDTO calculate(ApplicationRequestDTO request, Client client) {
         return calculateInternal(client, request.isHasDelinquency());
@@ -39,96 +48,66 @@ public class ScoringService {
         client.setCreditHistoryScore(result.getScore());
         client.setRiskClass(result.getRiskClass());
         clientRepository.save(client);
+        eventPublisher.publishEvent(ClientDashboardChangedEvent.ofClient(client.getId()));
+        eventPublisher.publishEvent(new ClientProfileChangedEvent(client.getId()));
     }
 
-    private ScoringResultDTO calculateInternal(Client client, boolean hasExternalDelinquency) {
-        BigDecimal bpm = new BigDecimal(paramRepository.findById("BPM")
-                .map(p -> p.getParamValue()).orElse("400"));
-
-        int score = 0;
-
-        BigDecimal income = client.getMonthlyIncome();
-        if (income.compareTo(bpm.multiply(BigDecimal.valueOf(3))) > 0) score += 35;
-        else if (income.compareTo(bpm.multiply(BigDecimal.valueOf(1.5))) >= 0) score += 15;
-        else score += 5;
-
-        double yearsExp = 0.0;
-        if (client.getEmploymentStartDate() != null) {
-            long months = ChronoUnit.MONTHS.between(client.getEmploymentStartDate(), LocalDate.now());
-            yearsExp = Math.max(0, months / 12.0);
-        }
-
-        if (yearsExp >= 3.0) score += 20;
-        else if (yearsExp >= 1.0) score += 10;
+    /**
+     * Active loan count and payments for several clients in one grouped query, for scoring queued applications.
+     */
+    public Map<Long, LoanRepository.LoanLoadView> loadActiveLoans(Collection<Long> clientIds) {
+        if (clientIds.isEmpty()) return Map.of();
+        return loanRepository.summarizeByClientIdIn(clientIds, LoanStatus.ACTIVE).stream()
+                .collect(Collectors.toMap(LoanRepository.LoanLoadView::getClientId, Function.identity()));
+    }
 
-        if (hasExternalDelinquency) {
-            score -= 60;
-        } else {
-            score += 30;
-        }
+    /**
+     * Scores against a preloaded loan summary; {@code load} is null for a client without active loans.
+     */
+    public ScoringResultDTO calculate(Client client, boolean hasExternalDelinquency, LoanRepository.LoanLoadView load) {
+        long loanCount = load != null ? load.getLoanCount() : 0;
+        long paymentsMinor = load != null ? Money.toMinor(load.getTotalMonthlyPayment(), RoundingMode.HALF_UP) : 0;
+        return score(client, hasExternalDelinquency, loanCount, paymentsMinor);
+    }
 
+    private ScoringResultDTO calculateInternal(Client client, boolean hasExternalDelinquency) {
         List<Loan> activeLoans = loanRepository.findByClientIdAndStatus(client.getId(), LoanStatus.ACTIVE);
-        if (!activeLoans.isEmpty()) {
-            score -= 10;
-
-            BigDecimal totalMonthlyPayment = activeLoans.stream()
-                    .map(Loan::getMonthlyPayment)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            BigDecimal pti = BigDecimal.ZERO;
-            if (income.compareTo(BigDecimal.ZERO) > 0) {
-                pti = totalMonthlyPayment.divide(income, 2, RoundingMode.HALF_UP);
-            }
-
-            if (pti.compareTo(BigDecimal.valueOf(0.4)) > 0) score -= 30;
-            if (pti.compareTo(BigDecimal.valueOf(0.6)) > 0) score -= 50;
+        long totalMonthlyPaymentMinor = 0;
+        for (Loan loan : activeLoans) {
+            totalMonthlyPaymentMinor += Money.toMinor(loan.getMonthlyPayment(), RoundingMode.HALF_UP);
         }
-
-        if ("MARRIED".equalsIgnoreCase(client.getMaritalStatus())) score += 10;
-
-        int age = Period.between(client.getBirthDate(), LocalDate.now()).getYears();
-        if (age >= 30 && age <= 55) score += 5;
-
-        return makeDecision(score);
+        return score(client, hasExternalDelinquency, activeLoans.size(), totalMonthlyPaymentMinor);
     }
 
-    private ScoringResultDTO makeDecision(int score) {
-        boolean approved;
-        BigDecimal minLimit = BigDecimal.ZERO;
-        BigDecimal maxLimit = BigDecimal.ZERO;
-        RiskClass riskClass = RiskClass.NONE;
-        String message;
+    private ScoringResultDTO score(Client client, boolean hasExternalDelinquency, long activeLoanCount,
+                                   long totalMonthlyPaymentMinor) {
+        CompiledScorecard scorecard = scorecardRegistry.current();
+        int score = scorecard.score(Money.toMinor(client.getMonthlyIncome(), RoundingMode.HALF_UP),
+                client.getEmploymentStartDate(), client.getMaritalStatus(), client.getBirthDate(),
+                hasExternalDelinquency, activeLoanCount, totalMonthlyPaymentMinor,
+                parameterRegistry.getMinorUnits(SystemParameterKey.BPM), LocalDate.now());
+        return makeDecision(scorecard, score);
+    }
 
-        if (score >= 75) {
-            approved = true;
-            minLimit = BigDecimal.valueOf(5000);
-            maxLimit = BigDecimal.valueOf(10000);
-            riskClass = RiskClass.LOW;
-            message = "Одобрено (Премиум)";
-        } else if (score >= 40) {
-            approved = true;
-            minLimit = BigDecimal.valueOf(1500);
-            maxLimit = BigDecimal.valueOf(5000);
-            riskClass = RiskClass.MIDDLE;
-            message = "Одобрено (Стандарт)";
-        } else if (score >= 10) {
-            approved = true;
-            minLimit = BigDecimal.valueOf(500);
-            maxLimit = BigDecimal.valueOf(1500);
-            riskClass = RiskClass.HIGH;
-            message = "Одобрено (Минимальный)";
-        } else {
-            approved = false;
-            message = "Отказ";
+    private static ScoringResultDTO makeDecision(CompiledScorecard scorecard, int score) {
+        ScorecardDefinition.DecisionBand band = scorecard.decision(score);
+        if (band == null) {
+            return ScoringResultDTO.builder()
+                    .score(score)
+                    .approved(false)
+                    .minLimit(BigDecimal.ZERO)
+                    .maxLimit(BigDecimal.ZERO)
+                    .riskClass(RiskClass.NONE)
+                    .message(scorecard.declineMessage())
+                    .build();
         }
-
         return ScoringResultDTO.builder()
                 .score(score)
-                .approved(approved)
-                .minLimit(minLimit)
-                .maxLimit(maxLimit)
-                .riskClass(riskClass)
-                .message(message)
+                .approved(true)
+                .minLimit(band.minLimit())
+                .maxLimit(band.maxLimit())
+                .riskClass(band.riskClass())
+                .message(band.message())
                 .build();
     }
-}
\ No newline at end of file
+}
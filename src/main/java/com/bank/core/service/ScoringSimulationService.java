@@ -0,0 +1,218 @@
+package com.bank.core.service;
+
+import com.bank.core.domain.Money;
+import com.bank.core.domain.enums.RiskClass;
+import com.bank.core.domain.enums.SystemParameterKey;
+import com.bank.core.dto.ScoringSimulationRequestDTO;
+import com.bank.core.dto.ScoringSimulationResultDTO;
+import com.bank.core.repository.ScoringFeatureJdbcRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * What-if scoring: runs the current and a candidate BPM/scorecard side by side over every client
+ * and reports how risk classes and approved limits would move. Nothing is written.
+ */
+@Service
+public class ScoringSimulationService {
+
+    private static final int CHUNK_SIZE = 16_384;
+    private static final int SCORE_BUCKET = 10;
+    private static final int MIN_BUCKET_SCORE = -150;
+    private static final int MAX_BUCKET_SCORE = 150;
+    private static final int BUCKETS = (MAX_BUCKET_SCORE - MIN_BUCKET_SCORE) / SCORE_BUCKET;
+    private static final int RISK_CLASSES = RiskClass.values().length;
+
+    private final ScoringFeatureJdbcRepository featureRepository;
+    private final SystemParameterRegistry parameterRegistry;
+    private final ScorecardRegistry scorecardRegistry;
+    private final long snapshotTtlMillis;
+
+    private volatile ScoringFeatureSnapshot snapshot;
+
+    public ScoringSimulationService(ScoringFeatureJdbcRepository featureRepository,
+                                    SystemParameterRegistry parameterRegistry,
+                                    ScorecardRegistry scorecardRegistry,
+                                    @Value("${bank.simulation.snapshot-ttl-ms:300000}") long snapshotTtlMillis) {
+        this.featureRepository = featureRepository;
+        this.parameterRegistry = parameterRegistry;
+        this.scorecardRegistry = scorecardRegistry;
+        this.snapshotTtlMillis = snapshotTtlMillis;
+    }
+
+    public ScoringSimulationResultDTO simulate(ScoringSimulationRequestDTO request, boolean refreshSnapshot) {
+        BigDecimal baselineBpm = parameterRegistry.getDecimal(SystemParameterKey.BPM);
+        BigDecimal candidateBpm = request.getBpm() != null
+                ? SystemParameterRegistry.parse(SystemParameterKey.BPM, request.getBpm().toPlainString())
+                : baselineBpm;
+        CompiledScorecard baseline = scorecardRegistry.current();
+        CompiledScorecard candidate = request.getScorecard() != null
+                ? CompiledScorecard.compile(-1, request.getScorecard())
+                : baseline;
+
+        ScoringFeatureSnapshot features = snapshot(refreshSnapshot);
+        long started = System.nanoTime();
+
+        Run run = new Run(features, baseline, candidate,
+                Money.toMinor(baselineBpm, RoundingMode.HALF_UP), Money.toMinor(candidateBpm, RoundingMode.HALF_UP),
+                CompiledScorecard.packDate(LocalDate.now()));
+        int chunks = (features.size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        Tally tally = IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> run.tally(chunk * CHUNK_SIZE, Math.min(features.size, (chunk + 1) * CHUNK_SIZE)))
+                .reduce(Tally::merge)
+                .orElseGet(Tally::new);
+
+        ScoringSimulationResultDTO result = new ScoringSimulationResultDTO();
+        result.setClients(features.size);
+        result.setBaselineBpm(baselineBpm);
+        result.setCandidateBpm(candidateBpm);
+        result.setBaselineScorecardVersion(baseline.version());
+        result.setCandidateScorecard(candidate != baseline);
+        result.setStoredDistribution(distribution(tally.stored));
+        result.setBaselineDistribution(distribution(tally.baseline));
+        result.setCandidateDistribution(distribution(tally.candidate));
+        result.setTransitions(transitions(tally.transitions));
+        result.setClientsChangingClass(tally.changingClass);
+        result.setScoreHistogram(histogram(tally));
+        result.setBaselineApproved(tally.baselineApproved);
+        result.setCandidateApproved(tally.candidateApproved);
+        result.setBaselineMaxLimitTotal(Money.ofMinor(tally.baselineLimitMinor).toBigDecimal());
+        result.setCandidateMaxLimitTotal(Money.ofMinor(tally.candidateLimitMinor).toBigDecimal());
+        result.setSnapshotBuiltAt(features.builtAt);
+        result.setSnapshotBuildMs(features.buildMillis);
+        result.setSimulationMs((System.nanoTime() - started) / 1_000_000);
+        return result;
+    }
+
+    private ScoringFeatureSnapshot snapshot(boolean refresh) {
+        ScoringFeatureSnapshot current = snapshot;
+        if (!refresh && isFresh(current)) return current;
+        synchronized (this) {
+            if (!refresh && isFresh(snapshot)) return snapshot;
+            snapshot = ScoringFeatureSnapshot.load(featureRepository);
+            return snapshot;
+        }
+    }
+
+    private boolean isFresh(ScoringFeatureSnapshot current) {
+        return current != null && Duration.between(current.builtAt, LocalDateTime.now()).toMillis() < snapshotTtlMillis;
+    }
+
+    private record Run(ScoringFeatureSnapshot features, CompiledScorecard baseline, CompiledScorecard candidate,
+                       long baselineBpmMinor, long candidateBpmMinor, int today) {
+
+        Tally tally(int from, int to) {
+            Tally tally = new Tally();
+            ScoringFeatureSnapshot f = features;
+            for (int i = from; i < to; i++) {
+                long income = f.incomeMinor[i];
+                int employment = f.employmentStart[i];
+                long experienceMonths = employment == ScoringFeatureSnapshot.NO_DATE
+                        ? 0 : Math.max(0, CompiledScorecard.monthsBetween(employment, today));
+                long age = CompiledScorecard.monthsBetween(f.birthDate[i], today) / 12;
+                String marital = f.maritalDictionary[f.maritalCode[i]];
+                int loans = f.activeLoans[i];
+                long payments = f.monthlyPaymentsMinor[i];
+
+                int baselineScore = baseline.score(income, experienceMonths, marital, age, false, loans, payments, baselineBpmMinor);
+                int candidateScore = candidate.score(income, experienceMonths, marital, age, false, loans, payments, candidateBpmMinor);
+                int baselineClass = baseline.riskClassFor(baselineScore).ordinal();
+                int candidateClass = candidate.riskClassFor(candidateScore).ordinal();
+
+                tally.stored[f.storedRiskClass[i]]++;
+                tally.baseline[baselineClass]++;
+                tally.candidate[candidateClass]++;
+                tally.transitions[baselineClass * RISK_CLASSES + candidateClass]++;
+                if (baselineClass != candidateClass) tally.changingClass++;
+                tally.baselineHistogram[bucket(baselineScore)]++;
+                tally.candidateHistogram[bucket(candidateScore)]++;
+
+                long baselineLimit = baseline.maxLimitMinor(baselineScore);
+                long candidateLimit = candidate.maxLimitMinor(candidateScore);
+                if (baseline.decision(baselineScore) != null) tally.baselineApproved++;
+                if (candidate.decision(candidateScore) != null) tally.candidateApproved++;
+                tally.baselineLimitMinor += baselineLimit;
+                tally.candidateLimitMinor += candidateLimit;
+            }
+            return tally;
+        }
+    }
+
+    private static final class Tally {
+        final long[] stored = new long[RISK_CLASSES];
+        final long[] baseline = new long[RISK_CLASSES];
+        final long[] candidate = new long[RISK_CLASSES];
+        final long[] transitions = new long[RISK_CLASSES * RISK_CLASSES];
+        final long[] baselineHistogram = new long[BUCKETS];
+        final long[] candidateHistogram = new long[BUCKETS];
+        long changingClass;
+        long baselineApproved;
+        long candidateApproved;
+        long baselineLimitMinor;
+        long candidateLimitMinor;
+
+        Tally merge(Tally other) {
+            add(stored, other.stored);
+            add(baseline, other.baseline);
+            add(candidate, other.candidate);
+            add(transitions, other.transitions);
+            add(baselineHistogram, other.baselineHistogram);
+            add(candidateHistogram, other.candidateHistogram);
+            changingClass += other.changingClass;
+            baselineApproved += other.baselineApproved;
+            candidateApproved += other.candidateApproved;
+            baselineLimitMinor += other.baselineLimitMinor;
+            candidateLimitMinor += other.candidateLimitMinor;
+            return this;
+        }
+
+        private static void add(long[] target, long[] source) {
+            for (int i = 0; i < target.length; i++) target[i] += source[i];
+        }
+    }
+
+    /**
+     * Scores outside the histogram range are counted in the first or last bucket.
+     */
+    private static int bucket(int score) {
+        int bucket = Math.floorDiv(score - MIN_BUCKET_SCORE, SCORE_BUCKET);
+        return Math.max(0, Math.min(BUCKETS - 1, bucket));
+    }
+
+    private static Map<RiskClass, Long> distribution(long[] counts) {
+        Map<RiskClass, Long> distribution = new EnumMap<>(RiskClass.class);
+        for (RiskClass riskClass : RiskClass.values()) distribution.put(riskClass, counts[riskClass.ordinal()]);
+        return distribution;
+    }
+
+    private static Map<RiskClass, Map<RiskClass, Long>> transitions(long[] counts) {
+        Map<RiskClass, Map<RiskClass, Long>> matrix = new EnumMap<>(RiskClass.class);
+        for (RiskClass from : RiskClass.values()) {
+            Map<RiskClass, Long> row = new EnumMap<>(RiskClass.class);
+            for (RiskClass to : RiskClass.values()) row.put(to, counts[from.ordinal() * RISK_CLASSES + to.ordinal()]);
+            matrix.put(from, row);
+        }
+        return matrix;
+    }
+
+    private static List<ScoringSimulationResultDTO.ScoreBucket> histogram(Tally tally) {
+        List<ScoringSimulationResultDTO.ScoreBucket> buckets = new ArrayList<>(BUCKETS);
+        for (int i = 0; i < BUCKETS; i++) {
+            int from = MIN_BUCKET_SCORE + i * SCORE_BUCKET;
+            buckets.add(new ScoringSimulationResultDTO.ScoreBucket(from, from + SCORE_BUCKET,
+                    tally.baselineHistogram[i], tally.candidateHistogram[i]));
+        }
+        return buckets;
+    }
+}
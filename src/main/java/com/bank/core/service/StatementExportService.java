@@ -0,0 +1,81 @@
+package com.bank.core.service;
+
+import com.bank.core.dto.TransactionHistoryDTO;
+import com.bank.core.repository.TransactionRepository;
+import com.bank.core.util.CsvWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class StatementExportService {
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private final TransactionRepository transactionRepository;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public long writeStatement(Long clientId, LocalDate from, LocalDate to, Format format, OutputStream out) throws IOException {
+        LocalDateTime fromTime = from != null ? from.atStartOfDay() : null;
+        LocalDateTime toTime = to != null ? to.plusDays(1).atStartOfDay() : null;
+
+        try (Stream<TransactionHistoryDTO> rows = transactionRepository.streamStatement(clientId, fromTime, toTime)) {
+            Iterator<TransactionHistoryDTO> iterator = rows.iterator();
+            return format == Format.CSV ? writeCsv(iterator, out) : writeNdjson(iterator, out);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            entityManager.clear();
+        }
+    }
+
+    private long writeCsv(Iterator<TransactionHistoryDTO> rows, OutputStream out) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        CsvWriter csv = new CsvWriter(writer).writeBom();
+        csv.row("ID", "Card", "Amount", "MCC", "Description", "Status", "Date");
+
+        long count = 0;
+        while (rows.hasNext()) {
+            TransactionHistoryDTO t = rows.next();
+            csv.row(t.getId(), t.getCardNumber(), t.getAmount().toPlainString(), t.getMccCode(),
+                    t.getDescription(), t.getStatus(), t.getCreatedAt());
+            if (++count % FLUSH_EVERY_ROWS == 0) csv.flush();
+        }
+        csv.flush();
+        return count;
+    }
+
+    private long writeNdjson(Iterator<TransactionHistoryDTO> rows, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(TransactionHistoryDTO.class);
+
+        long count = 0;
+        while (rows.hasNext()) {
+            out.write(writer.writeValueAsBytes(rows.next()));
+            out.write('\n');
+            if (++count % FLUSH_EVERY_ROWS == 0) out.flush();
+        }
+        out.flush();
+        return count;
+    }
+}
@@ -0,0 +1,146 @@
+package com.bank.core.service;
+
+import com.bank.core.domain.Money;
+import com.bank.core.domain.SystemParameter;
+import com.bank.core.domain.enums.SystemParameterKey;
+import com.bank.core.event.SystemParameterChangedEvent;
+import com.bank.core.repository.SystemParameterRepository;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+@Component
+public class SystemParameterRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(SystemParameterRegistry.class);
+
+    /**
+     * Immutable parameter set; minor units are derived from the values once and are not part of equality or the JSON view.
+     */
+    public static final class Snapshot {
+        private final long version;
+        private final Map<SystemParameterKey, BigDecimal> values;
+        private final long[] minorUnits = new long[SystemParameterKey.values().length];
+
+        public Snapshot(long version, Map<SystemParameterKey, BigDecimal> values) {
+            this.version = version;
+            this.values = Map.copyOf(values);
+            this.values.forEach((key, value) -> minorUnits[key.ordinal()] = Money.toMinor(value, RoundingMode.HALF_UP));
+        }
+
+        @JsonProperty("version")
+        public long version() {
+            return version;
+        }
+
+        @JsonProperty("values")
+        public Map<SystemParameterKey, BigDecimal> values() {
+            return values;
+        }
+
+        public long minorUnits(SystemParameterKey key) {
+            return minorUnits[key.ordinal()];
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || (o instanceof Snapshot other && version == other.version && values.equals(other.values));
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(version, values);
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot[version=" + version + ", values=" + values + "]";
+        }
+    }
+
+    private final SystemParameterRepository paramRepository;
+
+    private volatile Snapshot snapshot;
+
+    public SystemParameterRegistry(SystemParameterRepository paramRepository) {
+        this.paramRepository = paramRepository;
+    }
+
+    public BigDecimal getDecimal(SystemParameterKey key) {
+        return current().values().get(key);
+    }
+
+    public long getMinorUnits(SystemParameterKey key) {
+        return current().minorUnits(key);
+    }
+
+    public long getVersion() {
+        return current().version();
+    }
+
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) refresh();
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    public synchronized void refresh() {
+        Snapshot previous = snapshot;
+        Map<SystemParameterKey, BigDecimal> values = new EnumMap<>(SystemParameterKey.class);
+        for (SystemParameterKey key : SystemParameterKey.values()) {
+            values.put(key, parse(key, key.getDefaultValue()));
+        }
+        for (SystemParameter param : paramRepository.findAll()) {
+            SystemParameterKey key = resolveKey(param.getParamKey());
+            if (key == null) continue;
+            try {
+                values.put(key, parse(key, param.getParamValue()));
+            } catch (RuntimeException e) {
+                logger.warn("Ignoring invalid stored value of {}: {}", key, e.getMessage());
+                if (previous != null) values.put(key, previous.values().get(key));
+            }
+        }
+
+        if (previous == null || !previous.values().equals(values)) {
+            snapshot = new Snapshot(previous == null ? 1 : previous.version() + 1, values);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onParameterChanged(SystemParameterChangedEvent event) {
+        refresh();
+    }
+
+    public static SystemParameterKey resolveKey(String paramKey) {
+        for (SystemParameterKey key : SystemParameterKey.values()) {
+            if (key.name().equals(paramKey)) return key;
+        }
+        return null;
+    }
+
+    public static BigDecimal parse(SystemParameterKey key, String value) {
+        BigDecimal parsed;
+        try {
+            parsed = new BigDecimal(value.trim());
+        } catch (NumberFormatException | NullPointerException e) {
+            throw new RuntimeException("Некорректное значение параметра " + key.name() + ": " + value);
+        }
+        if (parsed.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new RuntimeException("Значение параметра " + key.name() + " должно быть положительным");
+        }
+        return parsed;
+    }
+}
@@ -1,18 +1,29 @@
 package com.bank.core.service;
 
 import com.bank.core.domain.Card;
+import com.bank.core.domain.LoyaltyOutboxEvent;
+import com.bank.core.domain.Money;
 import com.bank.core.domain.Transaction;
 import com.bank.core.domain.enums.CardStatus;
 import com.bank.core.domain.enums.TransactionStatus;
 import com.bank.core.dto.TransactionRequestDTO;
 import com.bank.core.dto.TransactionResponseDTO;
 import com.bank.core.repository.CardRepository;
+import com.bank.core.repository.LoyaltyOutboxRepository;
+import com.bank.core.repository.TransactionJdbcRepository;
 import com.bank.core.repository.TransactionRepository;
+import com.bank.core.event.ClientDashboardChangedEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -20,33 +31,33 @@ public class TransactionService {
 
     private final CardRepository cardRepository;
     private final TransactionRepository transactionRepository;
-    private final LoyaltyService loyaltyService;
+    private final TransactionJdbcRepository transactionJdbcRepository;
+    private final LoyaltyOutboxRepository loyaltyOutboxRepository;
+    private final LoyaltyRuleIndex loyaltyRuleIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final int MAX_BATCH_SIZE = 1000;
 
     @Transactional
     public TransactionResponseDTO processTransaction(TransactionRequestDTO request) {
-        Card card = cardRepository.findById(request.getCardId())
-                .orElseThrow(() -> new RuntimeException("Карта не найдена"));
-
         TransactionResponseDTO response = new TransactionResponseDTO();
 
-        if (card.getStatus() != CardStatus.ACTIVE) {
-            response.setStatus("FAILED");
-            response.setMessage("Карта заблокирована или истекла");
-            return response;
-        }
+        if (cardRepository.debitIfSufficient(request.getCardId(), request.getAmount()) == 0) {
+            Card card = cardRepository.findById(request.getCardId())
+                    .orElseThrow(() -> new RuntimeException("Карта не найдена"));
 
-        if (card.getBalance().compareTo(request.getAmount()) < 0) {
             response.setStatus("FAILED");
-            response.setMessage("Недостаточно средств");
-            response.setCurrentBalance(card.getBalance());
+            if (card.getStatus() != CardStatus.ACTIVE) {
+                response.setMessage("Карта заблокирована или истекла");
+            } else {
+                response.setMessage("Недостаточно средств");
+                response.setCurrentBalance(card.getBalance());
+            }
             return response;
         }
 
-        card.setBalance(card.getBalance().subtract(request.getAmount()));
-        cardRepository.save(card);
-
         Transaction transaction = new Transaction();
-        transaction.setCard(card);
+        transaction.setCard(cardRepository.getReferenceById(request.getCardId()));
         transaction.setAmount(request.getAmount());
         transaction.setMccCode(request.getMccCode());
 
@@ -55,15 +66,110 @@ public class TransactionService {
         transaction.setCreatedAt(LocalDateTime.now());
         Transaction savedTransaction = transactionRepository.save(transaction);
 
-        loyaltyService.applyLoyaltyProgram(savedTransaction);
-
-        Card updatedCard = cardRepository.findById(card.getId()).orElseThrow();
+        if (loyaltyRuleIndex.find(savedTransaction.getMccCode()) != null) {
+            loyaltyOutboxRepository.save(toLoyaltyEvent(savedTransaction));
+        }
 
         response.setTransactionId(savedTransaction.getId());
         response.setStatus("COMPLETED");
         response.setMessage("Успешно");
-        response.setCurrentBalance(updatedCard.getBalance());
+        response.setCurrentBalance(cardRepository.findBalanceById(request.getCardId()).orElseThrow());
+        eventPublisher.publishEvent(ClientDashboardChangedEvent.ofCards(request.getCardId()));
 
         return response;
     }
-}
\ No newline at end of file
+
+    @Transactional
+    public List<TransactionResponseDTO> processBatch(List<TransactionRequestDTO> requests) {
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new RuntimeException("Слишком большой пакет (максимум " + MAX_BATCH_SIZE + ")");
+        }
+
+        Set<Long> cardIds = requests.stream()
+                .map(TransactionRequestDTO::getCardId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        Map<Long, Card> cards = cardIds.isEmpty() ? Map.of() : cardRepository.findAllByIdForUpdate(cardIds).stream()
+                .collect(Collectors.toMap(Card::getId, Function.identity()));
+
+        Map<Long, Money> balances = new HashMap<>();
+        List<TransactionResponseDTO> responses = new ArrayList<>(requests.size());
+        List<Transaction> accepted = new ArrayList<>();
+        List<TransactionResponseDTO> acceptedResponses = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (TransactionRequestDTO request : requests) {
+            TransactionResponseDTO response = new TransactionResponseDTO();
+            responses.add(response);
+            response.setStatus("FAILED");
+
+            if (request.getAmount() == null || request.getAmount().compareTo(BigDecimal.ZERO) <= 0
+                    || request.getAmount().stripTrailingZeros().scale() > Money.SCALE || request.getMccCode() == null) {
+                response.setMessage("Некорректные параметры транзакции");
+                continue;
+            }
+
+            Card card = request.getCardId() != null ? cards.get(request.getCardId()) : null;
+            if (card == null) {
+                response.setMessage("Карта не найдена");
+                continue;
+            }
+
+            if (card.getStatus() != CardStatus.ACTIVE) {
+                response.setMessage("Карта заблокирована или истекла");
+                continue;
+            }
+
+            Money amount = Money.of(request.getAmount());
+            Money balance = balances.get(card.getId());
+            if (balance == null) balance = Money.of(card.getBalance());
+            if (!balance.isGreaterThanOrEqual(amount)) {
+                response.setMessage("Недостаточно средств");
+                response.setCurrentBalance(balance.toBigDecimal());
+                continue;
+            }
+
+            balance = balance.minus(amount);
+            balances.put(card.getId(), balance);
+
+            Transaction transaction = new Transaction();
+            transaction.setCard(card);
+            transaction.setAmount(amount.toBigDecimal());
+            transaction.setMccCode(request.getMccCode());
+            transaction.setStatus(TransactionStatus.COMPLETED);
+            transaction.setCreatedAt(now);
+            accepted.add(transaction);
+            acceptedResponses.add(response);
+
+            response.setStatus("COMPLETED");
+            response.setMessage("Успешно");
+            response.setCurrentBalance(balance.toBigDecimal());
+        }
+
+        transactionJdbcRepository.updateBalances(balances);
+        if (!balances.isEmpty()) {
+            eventPublisher.publishEvent(ClientDashboardChangedEvent.ofCards(balances.keySet()));
+        }
+        transactionJdbcRepository.insertAll(accepted);
+        transactionJdbcRepository.insertLoyaltyEvents(accepted.stream()
+                .filter(t -> loyaltyRuleIndex.find(t.getMccCode()) != null)
+                .collect(Collectors.toList()));
+
+        for (int i = 0; i < accepted.size(); i++) {
+            acceptedResponses.get(i).setTransactionId(accepted.get(i).getId());
+        }
+
+        return responses;
+    }
+
+    private LoyaltyOutboxEvent toLoyaltyEvent(Transaction transaction) {
+        LoyaltyOutboxEvent event = new LoyaltyOutboxEvent();
+        event.setTransactionId(transaction.getId());
+        event.setCardId(transaction.getCard().getId());
+        event.setAmount(Money.of(transaction.getAmount(), RoundingMode.HALF_UP));
+        event.setMccCode(transaction.getMccCode());
+        event.setCreatedAt(transaction.getCreatedAt());
+        return event;
+    }
+}
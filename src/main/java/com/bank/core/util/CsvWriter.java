@@ -0,0 +1,51 @@
+package com.bank.core.util;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Minimal ';'-separated writer in the format of the existing reports (Excel-friendly, UTF-8 with BOM).
+ */
+public class CsvWriter implements Flushable {
+
+    private static final char SEPARATOR = ';';
+
+    private final Writer out;
+
+    public CsvWriter(Writer out) {
+        this.out = out;
+    }
+
+    public CsvWriter writeBom() throws IOException {
+        out.write('\uFEFF');
+        return this;
+    }
+
+    public void row(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) out.write(SEPARATOR);
+            writeValue(values[i]);
+        }
+        out.write("\r\n");
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) return;
+        String text = value.toString();
+        boolean quote = text.indexOf(SEPARATOR) >= 0 || text.indexOf('"') >= 0
+                || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+        if (!quote) {
+            out.write(text);
+            return;
+        }
+        out.write('"');
+        out.write(text.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
@@ -0,0 +1,29 @@
+package com.bank.core.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset cursor for lists that can be sorted by different columns: the sort it was issued for, the last sort value and id.
+ */
+public record SortCursor(String sort, String value, Long id) {
+
+    public String encode() {
+        String raw = sort + "|" + value + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SortCursor decode(String cursor, String expectedSort) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int first = raw.indexOf('|');
+            int last = raw.lastIndexOf('|');
+            SortCursor decoded = new SortCursor(raw.substring(0, first), raw.substring(first + 1, last), Long.valueOf(raw.substring(last + 1)));
+            if (!decoded.sort().equals(expectedSort)) throw new IllegalArgumentException();
+            return decoded;
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Некорректный курсор страницы");
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.bank.core.domain;
+
+import com.bank.core.domain.LoanScheduleCalculator.Row;
+import com.bank.core.domain.enums.RepaymentType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoanScheduleCalculatorTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 1, 31);
+
+    @Test
+    void annuityMatchesTextbookPayment() {
+        // 100 000.00 at 12% a year over 12 months: 8 884.88 a month
+        List<Row> rows = LoanScheduleCalculator.build(RepaymentType.ANNUITY, 10_000_000, 1200, 12, 1, START);
+
+        assertEquals(888_488, LoanScheduleCalculator.annuityPaymentMinor(10_000_000, 1200, 12));
+        assertEquals(12, rows.size());
+        for (Row row : rows.subList(0, 11)) assertEquals(888_488, row.amountMinor());
+        assertEquals(100_000, rows.get(0).interestMinor());
+        assertEquals(10_000_000, rows.stream().mapToLong(Row::principalMinor).sum());
+        assertTrue(Math.abs(rows.get(11).amountMinor() - 888_488) < 12);
+    }
+
+    @Test
+    void differentiatedRepaysEqualPrincipalWithFallingInterest() {
+        List<Row> rows = LoanScheduleCalculator.build(RepaymentType.DIFFERENTIATED, 1_000_001, 1800, 6, 1, START);
+
+        assertEquals(1_000_001, rows.stream().mapToLong(Row::principalMinor).sum());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(166_666, rows.get(i).principalMinor());
+            assertTrue(rows.get(i).interestMinor() > rows.get(i + 1).interestMinor());
+        }
+        assertEquals(166_671, rows.get(5).principalMinor());
+    }
+
+    @Test
+    void everyScheduleRepaysThePrincipalExactly() {
+        Random random = new Random(9);
+        for (int i = 0; i < 20_000; i++) {
+            long principal = random.nextLong(0, 5_000_000_000L);
+            long rateBp = random.nextInt(5) == 0 ? 0 : random.nextLong(1, 6000);
+            int months = random.nextInt(1, 61);
+            RepaymentType type = random.nextBoolean() ? RepaymentType.ANNUITY : RepaymentType.DIFFERENTIATED;
+
+            List<Row> rows = LoanScheduleCalculator.build(type, principal, rateBp, months, 1, START);
+            assertEquals(principal, rows.stream().mapToLong(Row::principalMinor).sum(), principal + " " + rateBp + " " + months);
+            assertTrue(rows.stream().allMatch(row -> row.principalMinor() >= 0 && row.interestMinor() >= 0));
+        }
+    }
+
+    @Test
+    void dueDatesFollowTheStartDayClampedToMonthEnd() {
+        List<Row> rows = LoanScheduleCalculator.build(RepaymentType.ANNUITY, 300_000, 1200, 3, 1, START);
+
+        assertEquals(LocalDate.of(2026, 2, 28), rows.get(0).dueDate());
+        assertEquals(LocalDate.of(2026, 3, 31), rows.get(1).dueDate());
+        assertEquals(LocalDate.of(2026, 4, 30), rows.get(2).dueDate());
+    }
+
+    @Test
+    void paymentsSettleInstallmentsInOrderAndStopAtTheDebt() {
+        List<Row> rows = LoanScheduleCalculator.build(RepaymentType.ANNUITY, 10_000_000, 1200, 12, 1, START);
+        long total = LoanScheduleCalculator.totalMinor(rows);
+
+        List<Row> paid = LoanScheduleCalculator.pay(rows, 888_488 + 100);
+        assertTrue(paid.get(0).settled());
+        assertEquals(100, paid.get(1).paidMinor());
+        assertEquals(paid.get(1), LoanScheduleCalculator.nextDue(paid));
+        assertEquals(total - 888_588, LoanScheduleCalculator.outstandingMinor(paid));
+
+        List<Row> overpaid = LoanScheduleCalculator.pay(paid, total * 2);
+        assertEquals(0, LoanScheduleCalculator.outstandingMinor(overpaid));
+        assertNull(LoanScheduleCalculator.nextDue(overpaid));
+    }
+
+    @Test
+    void regenerationKeepsSettledInstallmentsAndCarriesPartialPayments() {
+        List<Row> rows = LoanScheduleCalculator.pay(
+                LoanScheduleCalculator.build(RepaymentType.ANNUITY, 10_000_000, 1200, 12, 1, START), 2 * 888_488 + 50_000);
+
+        List<Row> rebuilt = LoanScheduleCalculator.regenerate(RepaymentType.ANNUITY, 10_000_000, 1800, 12, START, rows, 0);
+
+        assertEquals(12, rebuilt.size());
+        assertEquals(rows.subList(0, 2), rebuilt.subList(0, 2));
+        assertEquals(3, rebuilt.get(2).seq());
+        assertEquals(50_000, rebuilt.get(2).paidMinor());
+        assertEquals(10_000_000, rebuilt.stream().mapToLong(Row::principalMinor).sum());
+        long oldPrincipalLeft = 10_000_000 - rows.get(0).principalMinor() - rows.get(1).principalMinor();
+        assertEquals(Math.round(oldPrincipalLeft * 0.015), rebuilt.get(2).interestMinor());
+    }
+
+    @Test
+    void loanWithoutScheduleIsRebuiltFromWhatWasPaid() {
+        List<Row> rebuilt = LoanScheduleCalculator.regenerate(RepaymentType.ANNUITY, 10_000_000, 1200, 12, START, List.of(), 888_488);
+
+        assertTrue(rebuilt.get(0).settled());
+        assertEquals(0, rebuilt.get(1).paidMinor());
+        assertEquals(LoanScheduleCalculator.totalMinor(rebuilt) - 888_488, LoanScheduleCalculator.outstandingMinor(rebuilt));
+    }
+
+    /**
+     * mvn test -Dtest=LoanScheduleCalculatorTest -Dbench.schedule=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "bench.schedule", matches = "true")
+    void measuresPortfolioRegeneration() {
+        Random random = new Random(1);
+        int loans = 200_000;
+        List<List<Row>> portfolio = new ArrayList<>(loans);
+        long[] principals = new long[loans];
+        int[] terms = new int[loans];
+        for (int i = 0; i < loans; i++) {
+            principals[i] = random.nextLong(10_000, 10_000_000);
+            terms[i] = random.nextInt(3, 61);
+            List<Row> rows = LoanScheduleCalculator.build(RepaymentType.ANNUITY, principals[i], 1500, terms[i], 1, START);
+            portfolio.add(LoanScheduleCalculator.pay(rows, random.nextLong(0, LoanScheduleCalculator.totalMinor(rows))));
+        }
+
+        for (int round = 0; round < 3; round++) {
+            long started = System.nanoTime();
+            long sequential = IntStream.range(0, loans).mapToLong(i -> LoanScheduleCalculator.regenerate(RepaymentType.ANNUITY,
+                    principals[i], 1700, terms[i], START, portfolio.get(i), 0).size()).sum();
+            long sequentialNanos = System.nanoTime() - started;
+
+            started = System.nanoTime();
+            long parallel = IntStream.range(0, loans).parallel().mapToLong(i -> LoanScheduleCalculator.regenerate(RepaymentType.ANNUITY,
+                    principals[i], 1700, terms[i], START, portfolio.get(i), 0).size()).sum();
+            long parallelNanos = System.nanoTime() - started;
+
+            System.out.printf("Schedule regeneration (%d loans, %d rows): sequential %d ms, parallel %d ms (%d)%n",
+                    loans, sequential, sequentialNanos / 1_000_000, parallelNanos / 1_000_000, parallel);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.bank.core.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+
+    @Test
+    void convertsToAndFromBigDecimal() {
+        Money money = Money.of(new BigDecimal("1234.50"));
+
+        assertEquals(123450, money.minorUnits());
+        assertEquals(new BigDecimal("1234.50"), money.toBigDecimal());
+        assertEquals(Money.ofMinor(1), Money.of(new BigDecimal("0.005"), RoundingMode.HALF_UP));
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("0.005")));
+    }
+
+    @Test
+    void divideMatchesBigDecimalForEveryRoundingMode() {
+        Random random = new Random(42);
+        for (RoundingMode rounding : RoundingMode.values()) {
+            if (rounding == RoundingMode.UNNECESSARY) continue;
+            for (int i = 0; i < 10_000; i++) {
+                long dividend = random.nextLong(-10_000_000, 10_000_000);
+                long divisor = random.nextLong(1, 1000) * (random.nextBoolean() ? 1 : -1);
+
+                long expected = BigDecimal.valueOf(dividend)
+                        .divide(BigDecimal.valueOf(divisor), 0, rounding)
+                        .longValueExact();
+                assertEquals(expected, Money.divide(dividend, divisor, rounding),
+                        dividend + " / " + divisor + " " + rounding);
+            }
+        }
+    }
+
+    @Test
+    void arithmeticDetectsOverflow() {
+        Money max = Money.ofMinor(Long.MAX_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.ofMinor(1)));
+        assertThrows(ArithmeticException.class, () -> max.multiply(2, 1, RoundingMode.HALF_UP));
+    }
+}
@@ -0,0 +1,45 @@
+package com.bank.core.repository;
+
+import com.bank.core.domain.LoyaltyOutboxEvent;
+import com.bank.core.domain.Money;
+import com.bank.core.domain.enums.OutboxStatus;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@Transactional
+class LoyaltyOutboxRepositoryTests {
+
+    private static final int MAX_ATTEMPTS = 5;
+
+    @Autowired
+    private LoyaltyOutboxRepository outboxRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void eventIsRetriedExactlyMaxAttemptsTimes() {
+        LoyaltyOutboxEvent event = new LoyaltyOutboxEvent();
+        event.setTransactionId(-System.nanoTime());
+        event.setCardId(-1L);
+        event.setAmount(Money.ofMinor(100));
+        event.setMccCode("0000");
+        Long id = outboxRepository.saveAndFlush(event).getId();
+
+        int failures = 0;
+        while (outboxRepository.registerFailure(id, "error", MAX_ATTEMPTS) == 1) {
+            failures++;
+            entityManager.clear();
+            LoyaltyOutboxEvent stored = outboxRepository.findById(id).orElseThrow();
+            assertEquals(failures, stored.getAttempts());
+            assertEquals(failures < MAX_ATTEMPTS ? OutboxStatus.PENDING : OutboxStatus.FAILED, stored.getStatus());
+        }
+
+        assertEquals(MAX_ATTEMPTS, failures);
+    }
+}
@@ -0,0 +1,93 @@
+package com.bank.core.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.security.Key;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtTokenProviderTests {
+
+    private static final String SECRET = "9a02115a835ee03d5fb83cd8a468ea33e4090a6a275b269493fcd2e608188e3f";
+
+    private final JwtTokenProvider tokenProvider = new JwtTokenProvider();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatesFromSingleParse() {
+        String token = tokenProvider.generateToken("alice", "CLIENT", 7L, 42L);
+
+        AuthenticatedUser user = tokenProvider.authenticate(token).orElseThrow();
+        assertEquals(new AuthenticatedUser(7L, "alice", 42L, "CLIENT"), user);
+        assertEquals(user, tokenProvider.authenticate(token).orElseThrow());
+    }
+
+    @Test
+    void rejectsTamperedToken() {
+        String token = tokenProvider.generateToken("alice", "CLIENT", 7L, 42L);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertTrue(tokenProvider.authenticate(tampered).isEmpty());
+    }
+
+    /**
+     * mvn test -Dtest=JwtTokenProviderTests -Dbench.jwt=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "bench.jwt", matches = "true")
+    void comparesFilterCostPerRequest() throws Exception {
+        int warmup = 20_000;
+        int iterations = 50_000;
+        String token = tokenProvider.generateToken("alice", "CLIENT", 7L, 42L);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(tokenProvider);
+
+        for (int i = 0; i < warmup; i++) legacyAuthenticate(token);
+        long started = System.nanoTime();
+        for (int i = 0; i < iterations; i++) legacyAuthenticate(token);
+        double legacyMicros = (System.nanoTime() - started) / 1000.0 / iterations;
+
+        for (int i = 0; i < warmup; i++) tokenProvider.authenticate(token);
+        started = System.nanoTime();
+        for (int i = 0; i < iterations; i++) tokenProvider.authenticate(token);
+        double singleParseMicros = (System.nanoTime() - started) / 1000.0 / iterations;
+
+        for (int i = 0; i < warmup; i++) runFilter(filter, token);
+        started = System.nanoTime();
+        for (int i = 0; i < iterations; i++) runFilter(filter, token);
+        double filterMicros = (System.nanoTime() - started) / 1000.0 / iterations;
+
+        System.out.printf("JWT bench (%d requests): three parses %.1f us, single parse %.1f us, filter %.1f us%n",
+                iterations, legacyMicros, singleParseMicros, filterMicros);
+    }
+
+    private static void legacyAuthenticate(String token) {
+        for (int parse = 0; parse < 3; parse++) {
+            Key key = Keys.hmacShaKeyFor(SECRET.getBytes());
+            assertNotNull(Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getSubject());
+        }
+    }
+
+    private static void runFilter(JwtAuthenticationFilter filter, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        SecurityContextHolder.clearContext();
+    }
+}
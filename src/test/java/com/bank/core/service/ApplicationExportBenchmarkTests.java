@@ -0,0 +1,141 @@
+package com.bank.core.service;
+
+import com.bank.core.domain.Client;
+import com.bank.core.repository.CardRepository;
+import com.bank.core.repository.ClientRepository;
+import com.bank.core.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * mvn test -Dtest=ApplicationExportBenchmarkTests -Dbench.export=true [-Dbench.export.rows=1000000] [-Dbench.export.max-retained-heap-mb=64]
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "bench.export", matches = "true")
+class ApplicationExportBenchmarkTests {
+
+    @Value("${bench.export.rows:1000000}")
+    private int rows;
+
+    @Value("${bench.export.max-retained-heap-mb:64}")
+    private long maxRetainedHeapMb;
+
+    @Autowired
+    private ApplicationExportService exportService;
+    @Autowired
+    private CardRepository cardRepository;
+    @Autowired
+    private ClientRepository clientRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private BenchmarkFixtures fixtures;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new BenchmarkFixtures(userRepository, clientRepository, cardRepository, jdbcTemplate);
+        Client client = fixtures.newClient("Export Bench");
+
+        String[] statuses = {"PENDING", "APPROVED", "REJECTED"};
+        LocalDateTime base = LocalDateTime.now().minusDays(365);
+        fixtures.batchInsert("INSERT INTO credit_applications (client_id, requested_limit, calculated_score, term_months, status, created_at) " +
+                        "VALUES (?, ?, ?, 12, ?, ?)", rows,
+                i -> new Object[]{client.getId(), 1000 + i % 50000, 40 + i % 60, statuses[(int) (i % 3)],
+                        Timestamp.valueOf(base.plusSeconds(i * 30L))});
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixtures.cleanup();
+    }
+
+    /**
+     * Streamed rows die young, so the export must not grow the old generation; a materialized result set would.
+     */
+    @Test
+    void exportsWithFlatHeap() throws Exception {
+        CountingOutputStream out = new CountingOutputStream();
+        System.gc();
+        resetPeakUsage();
+        long heapBefore = heapUsed();
+        long retainedBefore = retainedHeapUsed();
+
+        long started = System.nanoTime();
+        long exported = exportService.writeCsv(null, null, null, out);
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+        long peakHeap = peakHeapUsed();
+        long retainedGrowth = peakRetainedHeapUsed() - retainedBefore;
+        System.out.printf("Application export bench: %,d rows, %.1f MB, %.1f s, %.0f rows/s, heap before %d MB, peak %d MB, old gen growth %d MB%n",
+                exported, out.bytes / 1_048_576.0, seconds, exported / seconds,
+                heapBefore / 1_048_576, peakHeap / 1_048_576, retainedGrowth / 1_048_576);
+
+        assertTrue(exported >= rows);
+        assertTrue(retainedGrowth <= maxRetainedHeapMb * 1_048_576,
+                "Old generation grew by " + retainedGrowth / 1_048_576 + " MB during the export");
+    }
+
+    private static long heapUsed() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static void resetPeakUsage() {
+        ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    private static long peakHeapUsed() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum();
+    }
+
+    private static long retainedHeapUsed() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(ApplicationExportBenchmarkTests::isOldGeneration)
+                .mapToLong(pool -> pool.getUsage().getUsed())
+                .sum();
+    }
+
+    private static long peakRetainedHeapUsed() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(ApplicationExportBenchmarkTests::isOldGeneration)
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum();
+    }
+
+    private static boolean isOldGeneration(MemoryPoolMXBean pool) {
+        return pool.getType() == MemoryType.HEAP && (pool.getName().contains("Old Gen") || pool.getName().contains("Tenured"));
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
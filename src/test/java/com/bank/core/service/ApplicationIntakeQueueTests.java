@@ -0,0 +1,197 @@
+package com.bank.core.service;
+
+import com.bank.core.domain.enums.ApplicationStatus;
+import com.bank.core.dto.ApplicationRequestDTO;
+import com.bank.core.dto.ApplicationStatusDTO;
+import com.bank.core.exception.ServiceBusyException;
+import com.bank.core.repository.CreditApplicationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApplicationIntakeQueueTests {
+
+    private final InMemoryApplications applications = new InMemoryApplications();
+    private final ApplicationIntakeQueue queue = new ApplicationIntakeQueue(applications, applications.repository(),
+            "queued", 2, 3, 5, 10_000, 100);
+
+    @AfterEach
+    void shutdown() {
+        queue.shutdown();
+    }
+
+    @Test
+    void rejectsSubmissionsBeyondQueueLimit() {
+        for (int i = 0; i < 5; i++) queue.submit(request(1L));
+        assertThrows(ServiceBusyException.class, () -> queue.submit(request(1L)));
+
+        queue.drain();
+        assertEquals(0, applications.queuedIds().size());
+        assertEquals("QUEUED", queue.submit(request(1L)).getStatus());
+    }
+
+    @Test
+    void parkedStatusRequestCompletesWhenScored() {
+        ApplicationStatusDTO submitted = queue.submit(request(7L));
+        DeferredResult<ApplicationStatusDTO> result = queue.awaitStatus(submitted.getId(), 7L, 5_000);
+        assertFalse(result.hasResult());
+
+        queue.drain();
+
+        assertTrue(result.hasResult());
+        assertEquals("PENDING", ((ApplicationStatusDTO) result.getResult()).getStatus());
+    }
+
+    @Test
+    void scoredApplicationIsAnsweredWithoutWaiting() {
+        ApplicationStatusDTO submitted = queue.submit(request(7L));
+        queue.drain();
+
+        DeferredResult<ApplicationStatusDTO> result = queue.awaitStatus(submitted.getId(), 7L, 5_000);
+        assertTrue(result.hasResult());
+        assertThrows(RuntimeException.class, () -> queue.awaitStatus(submitted.getId(), 8L, 5_000));
+    }
+
+    @Test
+    void failingApplicationDoesNotBlockItsBatch() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) ids.add(queue.submit(request(1L)).getId());
+        applications.failing.add(ids.get(1));
+
+        queue.drain();
+
+        assertEquals("REJECTED", applications.statuses.get(ids.get(1)).getStatus());
+        for (Long id : List.of(ids.get(0), ids.get(2), ids.get(3))) {
+            assertEquals("PENDING", applications.statuses.get(id).getStatus());
+        }
+        assertEquals(1L, queue.getStats().get("failuresSinceStart"));
+    }
+
+    @Test
+    void lockTimeoutLeavesApplicationForTheNextDrain() {
+        Long id = queue.submit(request(1L)).getId();
+        applications.locked.add(id);
+
+        queue.drain();
+        assertEquals("QUEUED", applications.statuses.get(id).getStatus());
+        assertEquals(1L, queue.getStats().get("deferredSinceStart"));
+
+        applications.locked.clear();
+        queue.drain();
+        assertEquals("PENDING", applications.statuses.get(id).getStatus());
+        assertEquals(0L, queue.getStats().get("failuresSinceStart"));
+    }
+
+    @Test
+    void applicationsOfOneClientStayInOneBatch() {
+        for (long clientId : new long[]{1, 2, 1, 2, 1}) queue.submit(request(clientId));
+
+        queue.drain();
+
+        assertEquals(Set.of(List.of(1L, 3L, 5L), List.of(2L, 4L)), Set.copyOf(applications.batches));
+    }
+
+    private static ApplicationRequestDTO request(Long clientId) {
+        ApplicationRequestDTO request = new ApplicationRequestDTO();
+        request.setClientId(clientId);
+        request.setRequestedLimit(new BigDecimal("1000.00"));
+        request.setTermMonths(12);
+        return request;
+    }
+
+    /**
+     * Keeps application statuses in memory and fails the whole batch when it contains a failing id,
+     * the way a rolled-back transaction would.
+     */
+    private static class InMemoryApplications extends ApplicationService {
+        final Map<Long, ApplicationStatusDTO> statuses = new ConcurrentSkipListMap<>();
+        final Set<Long> failing = Collections.synchronizedSet(new HashSet<>());
+        final List<List<Long>> batches = Collections.synchronizedList(new ArrayList<>());
+        final Set<Long> locked = Collections.synchronizedSet(new HashSet<>());
+        private long nextId = 1;
+
+        InMemoryApplications() {
+            super(null, null, null, null);
+        }
+
+        @Override
+        public synchronized ApplicationStatusDTO enqueue(ApplicationRequestDTO request) {
+            ApplicationStatusDTO status = new ApplicationStatusDTO(nextId++, request.getClientId(), ApplicationStatus.QUEUED,
+                    null, null, null, null, LocalDateTime.now(), null);
+            statuses.put(status.getId(), status);
+            return status;
+        }
+
+        @Override
+        public List<ApplicationStatusDTO> processQueued(Collection<Long> applicationIds) {
+            batches.add(List.copyOf(applicationIds));
+            if (applicationIds.stream().anyMatch(locked::contains)) throw new CannotAcquireLockException("Lock wait timeout exceeded");
+            if (applicationIds.stream().anyMatch(failing::contains)) throw new RuntimeException("Клиент не найден");
+            List<ApplicationStatusDTO> processed = new ArrayList<>();
+            for (Long id : applicationIds) {
+                ApplicationStatusDTO status = statuses.get(id);
+                if (!"QUEUED".equals(status.getStatus())) continue;
+                status.setStatus("PENDING");
+                status.setProcessedAt(LocalDateTime.now());
+                processed.add(status);
+            }
+            return processed;
+        }
+
+        @Override
+        public ApplicationStatusDTO rejectQueued(Long applicationId, String reason) {
+            ApplicationStatusDTO status = statuses.get(applicationId);
+            status.setStatus("REJECTED");
+            status.setMessage(reason);
+            status.setProcessedAt(LocalDateTime.now());
+            return status;
+        }
+
+        @Override
+        public ApplicationStatusDTO getStatus(Long applicationId, Long clientId) {
+            ApplicationStatusDTO status = statuses.get(applicationId);
+            if (status == null || (clientId != null && !clientId.equals(status.getClientId()))) {
+                throw new RuntimeException("Заявка не найдена");
+            }
+            return status;
+        }
+
+        private static CreditApplicationRepository.QueuedView queuedView(Long id, Long clientId) {
+            return new CreditApplicationRepository.QueuedView() {
+                @Override
+                public Long getId() {
+                    return id;
+                }
+
+                @Override
+                public Long getClientId() {
+                    return clientId;
+                }
+            };
+        }
+
+        List<Long> queuedIds() {
+            return statuses.values().stream().filter(s -> "QUEUED".equals(s.getStatus())).map(ApplicationStatusDTO::getId).toList();
+        }
+
+        CreditApplicationRepository repository() {
+            return (CreditApplicationRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{CreditApplicationRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                        case "countByStatus" -> (long) queuedIds().size();
+                        case "findQueuedByStatus" -> queuedIds().stream().limit(((Pageable) args[1]).getPageSize())
+                                .map(id -> queuedView(id, statuses.get(id).getClientId())).toList();
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.bank.core.service;
+
+import com.bank.core.domain.Card;
+import com.bank.core.domain.Client;
+import com.bank.core.domain.User;
+import com.bank.core.domain.enums.CardStatus;
+import com.bank.core.repository.CardRepository;
+import com.bank.core.repository.ClientRepository;
+import com.bank.core.repository.UserRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.LongFunction;
+
+/**
+ * Users, clients and cards for the database benchmarks; cleanup() removes everything created through it.
+ */
+class BenchmarkFixtures {
+
+    private static final int INSERT_BATCH = 5000;
+    private static final int DELETE_CHUNK = 50000;
+
+    private final UserRepository userRepository;
+    private final ClientRepository clientRepository;
+    private final CardRepository cardRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final List<User> users = new ArrayList<>();
+    private final List<Client> clients = new ArrayList<>();
+    private final List<Card> cards = new ArrayList<>();
+
+    BenchmarkFixtures(UserRepository userRepository, ClientRepository clientRepository,
+                      CardRepository cardRepository, JdbcTemplate jdbcTemplate) {
+        this.userRepository = userRepository;
+        this.clientRepository = clientRepository;
+        this.cardRepository = cardRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    Client newClient(String fullName) {
+        User user = new User();
+        user.setUsername("bench-" + UUID.randomUUID());
+        user.setPassword("-");
+        user.setRole("CLIENT");
+        users.add(user = userRepository.save(user));
+
+        Client client = new Client();
+        client.setUserId(user.getId());
+        client.setFullName(fullName);
+        client.setPassport(user.getUsername());
+        client.setMonthlyIncome(BigDecimal.valueOf(1000));
+        client.setBirthDate(LocalDate.of(1990, 1, 1));
+        clients.add(client = clientRepository.save(client));
+        return client;
+    }
+
+    Card newCard(Client client, String numberPrefix, BigDecimal balance) {
+        Card card = new Card();
+        card.setClient(client);
+        card.setCardNumber(numberPrefix + String.format("%012d", Math.abs(UUID.randomUUID().getMostSignificantBits()) % 1000000000000L));
+        card.setCvvHash("000");
+        card.setExpirationDate(LocalDate.now().plusYears(1));
+        card.setCreditLimit(BigDecimal.ZERO);
+        card.setBalance(balance);
+        card.setStatus(CardStatus.ACTIVE);
+        cards.add(card = cardRepository.save(card));
+        return card;
+    }
+
+    void batchInsert(String sql, long count, LongFunction<Object[]> row) {
+        for (long start = 0; start < count; start += INSERT_BATCH) {
+            List<Object[]> rows = new ArrayList<>(INSERT_BATCH);
+            for (long i = start; i < Math.min(count, start + INSERT_BATCH); i++) {
+                rows.add(row.apply(i));
+            }
+            jdbcTemplate.batchUpdate(sql, rows);
+        }
+    }
+
+    void cleanup() {
+        for (Card card : cards) {
+            jdbcTemplate.update("DELETE FROM transactions WHERE card_id = ?", card.getId());
+        }
+        for (Client client : clients) {
+            deleteInChunks("DELETE FROM cards WHERE client_id = ?", client.getId());
+            deleteInChunks("DELETE FROM credit_applications WHERE client_id = ?", client.getId());
+            jdbcTemplate.update("DELETE FROM bonus_accounts WHERE client_id = ?", client.getId());
+            clientRepository.delete(client);
+        }
+        userRepository.deleteAll(users);
+        cards.clear();
+        clients.clear();
+        users.clear();
+    }
+
+    private void deleteInChunks(String sql, Object... args) {
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(sql + " LIMIT " + DELETE_CHUNK, args);
+        } while (deleted > 0);
+    }
+}
@@ -0,0 +1,108 @@
+package com.bank.core.service;
+
+import com.bank.core.dto.ClientDashboardDTO;
+import com.bank.core.event.ClientDashboardChangedEvent;
+import com.bank.core.repository.ClientDashboardJdbcRepository;
+import com.bank.core.repository.DashboardSnapshotRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientDashboardReadModelTests {
+
+    private final InMemorySnapshots snapshots = new InMemorySnapshots();
+    private final StubDashboards dashboards = new StubDashboards();
+    private final ClientDashboardReadModel readModel =
+            new ClientDashboardReadModel(dashboards, snapshots, null, new ObjectMapper().findAndRegisterModules(), 100);
+
+    @Test
+    void failedRefreshDropsThePersistedSnapshot() {
+        dashboards.fullName = "Старое имя";
+        assertEquals("Старое имя", readModel.get(1L).orElseThrow().getFullName());
+        assertTrue(snapshots.rows.containsKey(1L));
+
+        dashboards.failing = true;
+        readModel.onDashboardChanged(ClientDashboardChangedEvent.ofClient(1L));
+        assertFalse(snapshots.rows.containsKey(1L));
+
+        dashboards.failing = false;
+        dashboards.fullName = "Новое имя";
+        assertEquals("Новое имя", readModel.get(1L).orElseThrow().getFullName());
+    }
+
+    @Test
+    void eventsDuringARefreshAreCoalescedIntoOneMoreRun() throws Exception {
+        dashboards.blockFirstBuild = new CountDownLatch(1);
+        Thread first = new Thread(() -> readModel.onDashboardChanged(ClientDashboardChangedEvent.ofClient(1L)));
+        first.start();
+        assertTrue(dashboards.firstBuildStarted.await(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < 10; i++) readModel.onDashboardChanged(ClientDashboardChangedEvent.ofClient(1L));
+        dashboards.blockFirstBuild.countDown();
+        first.join(5_000);
+
+        assertEquals(2, dashboards.builds.get());
+        assertEquals(10L, readModel.getStats().get("coalescedRefreshes"));
+    }
+
+    private static class StubDashboards extends ClientDashboardJdbcRepository {
+        final AtomicInteger builds = new AtomicInteger();
+        final CountDownLatch firstBuildStarted = new CountDownLatch(1);
+        volatile CountDownLatch blockFirstBuild;
+        volatile boolean failing;
+        volatile String fullName = "Клиент";
+
+        StubDashboards() {
+            super(null);
+        }
+
+        @Override
+        public Optional<ClientDashboardDTO> findDashboard(Long clientId) {
+            if (builds.incrementAndGet() == 1 && blockFirstBuild != null) {
+                firstBuildStarted.countDown();
+                try {
+                    blockFirstBuild.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (failing) throw new RuntimeException("Lock wait timeout exceeded");
+            ClientDashboardDTO dashboard = new ClientDashboardDTO();
+            dashboard.setClientId(clientId);
+            dashboard.setFullName(fullName);
+            return Optional.of(dashboard);
+        }
+    }
+
+    private static class InMemorySnapshots extends DashboardSnapshotRepository {
+        final Map<Long, StoredSnapshot> rows = new ConcurrentHashMap<>();
+
+        InMemorySnapshots() {
+            super(null);
+        }
+
+        @Override
+        public void save(Long clientId, long version, String payload) {
+            rows.merge(clientId, new StoredSnapshot(version, payload),
+                    (current, fresh) -> fresh.version() > current.version() ? fresh : current);
+        }
+
+        @Override
+        public void delete(Long clientId) {
+            rows.remove(clientId);
+        }
+
+        @Override
+        public Optional<StoredSnapshot> find(Long clientId) {
+            return Optional.ofNullable(rows.get(clientId));
+        }
+    }
+}
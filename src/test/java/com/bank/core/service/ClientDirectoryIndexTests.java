@@ -0,0 +1,122 @@
+package com.bank.core.service;
+
+import com.bank.core.dto.ClientSummaryDTO;
+import com.bank.core.event.ClientProfileChangedEvent;
+import com.bank.core.repository.ClientRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientDirectoryIndexTests {
+
+    private final Map<Long, ClientSummaryDTO> clients = new ConcurrentSkipListMap<>();
+    private Runnable duringLoad = () -> {
+    };
+    private final ClientDirectoryIndex index = new ClientDirectoryIndex(repository(), new TransactionTemplate() {
+        @Override
+        public <T> T execute(TransactionCallback<T> action) {
+            return action.doInTransaction(null);
+        }
+    });
+
+    @Test
+    void findsClientsByAnyNameWordAndByPassport() {
+        client(1, "Иванов Иван Петрович", "MP 1234567");
+        client(2, "Петрова Анна", "MP7654321");
+
+        assertEquals(List.of(1L), ids(index.search("Иван", null, 10)));
+        assertEquals(List.of(2L, 1L), ids(index.search("пет", null, 10)));
+        assertEquals(List.of(1L), ids(index.search("иванов иван п", null, 10)));
+        assertEquals(List.of(2L), ids(index.search("mp765", null, 10)));
+        assertEquals(List.of(), ids(index.search("сидор", null, 10)));
+        assertThrows(RuntimeException.class, () -> index.search("и", null, 10));
+    }
+
+    @Test
+    void pagesListEveryClientExactlyOnce() {
+        for (long id = 1; id <= 7; id++) client(id, "Иванов Иван " + id, "MP" + id);
+
+        List<Long> listed = new ArrayList<>();
+        String cursor = null;
+        do {
+            ClientDirectoryIndex.SearchPage page = index.search("ив", cursor, 2);
+            assertTrue(page.items().size() <= 2);
+            listed.addAll(ids(page));
+            cursor = page.lastKey();
+        } while (cursor != null);
+
+        assertEquals(7, listed.size());
+        assertEquals(7, new HashSet<>(listed).size());
+    }
+
+    @Test
+    void profileChangesReplaceTheIndexedTokens() {
+        client(1, "Иванов Иван", "MP1");
+        index.search("ив", null, 10);
+
+        client(1, "Смирнов Иван", "MP1");
+        index.onClientProfileChanged(new ClientProfileChangedEvent(1L));
+        clients.remove(2L);
+        client(2, "Смирнова Ольга", "MP2");
+        index.onClientProfileChanged(new ClientProfileChangedEvent(2L));
+
+        assertEquals(List.of(), ids(index.search("иванов", null, 10)));
+        assertEquals(List.of(1L, 2L), ids(index.search("смирнов", null, 10)));
+
+        clients.remove(2L);
+        index.onClientProfileChanged(new ClientProfileChangedEvent(2L));
+        assertEquals(List.of(1L), ids(index.search("смирнов", null, 10)));
+    }
+
+    @Test
+    void changeCommittedDuringRefreshIsReplayed() {
+        client(1, "Иванов Иван", "MP1");
+        client(2, "Петров Петр", "MP2");
+        duringLoad = () -> {
+            client(2, "Сидоров Петр", "MP2");
+            index.onClientProfileChanged(new ClientProfileChangedEvent(2L));
+        };
+
+        index.refresh();
+
+        assertEquals(List.of(2L), ids(index.search("сидоров", null, 10)));
+        assertEquals(List.of(), ids(index.search("петров", null, 10)));
+        assertEquals(2, index.getStats().get("clients"));
+    }
+
+    private void client(long id, String fullName, String passport) {
+        clients.put(id, new ClientSummaryDTO(id, id, fullName, passport, BigDecimal.ONE, 500, null));
+    }
+
+    private static List<Long> ids(ClientDirectoryIndex.SearchPage page) {
+        return page.items().stream().map(ClientSummaryDTO::getId).toList();
+    }
+
+    /**
+     * Streams a copy taken when the load starts, the way a consistent read would, and runs {@link #duringLoad}
+     * after the first row.
+     */
+    private ClientRepository repository() {
+        return (ClientRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{ClientRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "streamAllSummaries" -> {
+                        List<ClientSummaryDTO> snapshot = List.copyOf(clients.values());
+                        Runnable hook = duringLoad;
+                        duringLoad = () -> {
+                        };
+                        yield snapshot.stream().peek(summary -> {
+                            if (summary == snapshot.get(0)) hook.run();
+                        });
+                    }
+                    case "findSummaryById" -> Optional.ofNullable(clients.get((Long) args[0]));
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
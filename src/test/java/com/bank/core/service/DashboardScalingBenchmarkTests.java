@@ -0,0 +1,98 @@
+package com.bank.core.service;
+
+import com.bank.core.domain.Client;
+import com.bank.core.dto.ClientDashboardDTO;
+import com.bank.core.repository.CardRepository;
+import com.bank.core.repository.ClientDashboardJdbcRepository;
+import com.bank.core.repository.ClientRepository;
+import com.bank.core.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Grows the cards table with another client's cards and checks that assembling the dashboard does not slow down:
+ * mvn test -Dtest=DashboardScalingBenchmarkTests -Dbench.dashboard=true -Dbench.dashboard.sizes=10000,1000000,10000000
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "bench.dashboard", matches = "true")
+class DashboardScalingBenchmarkTests {
+
+    private static final int OWN_CARDS = 3;
+    private static final int SAMPLES = 500;
+
+    @Value("${bench.dashboard.sizes:10000,100000,1000000}")
+    private long[] tableSizes;
+
+    @Autowired
+    private ClientDashboardJdbcRepository dashboardRepository;
+    @Autowired
+    private CardRepository cardRepository;
+    @Autowired
+    private ClientRepository clientRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private BenchmarkFixtures fixtures;
+    private Client measured;
+    private Client filler;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new BenchmarkFixtures(userRepository, clientRepository, cardRepository, jdbcTemplate);
+        measured = fixtures.newClient("Dashboard Bench");
+        filler = fixtures.newClient("Dashboard Filler");
+        jdbcTemplate.update("INSERT INTO bonus_accounts (client_id, points_balance) VALUES (?, 0)", measured.getId());
+        insertCards(measured.getId(), OWN_CARDS, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixtures.cleanup();
+    }
+
+    @Test
+    void dashboardLatencyIsIndependentOfCardTableSize() {
+        long inserted = 0;
+        for (long size : tableSizes) {
+            Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cards", Long.class);
+            long missing = Math.max(0, size - existing);
+            insertCards(filler.getId(), missing, inserted);
+            inserted += missing;
+
+            long[] latencies = new long[SAMPLES];
+            ClientDashboardDTO dashboard = null;
+            for (int i = 0; i < SAMPLES; i++) {
+                long started = System.nanoTime();
+                dashboard = dashboardRepository.findDashboard(measured.getId()).orElseThrow();
+                latencies[i] = System.nanoTime() - started;
+            }
+            Arrays.sort(latencies);
+
+            System.out.printf("Dashboard bench: %,d cards in table, p50 %.2f ms, p99 %.2f ms%n",
+                    Math.max(size, existing), latencies[SAMPLES / 2] / 1_000_000.0, latencies[SAMPLES * 99 / 100] / 1_000_000.0);
+            assertEquals(OWN_CARDS, dashboard.getCards().size());
+        }
+    }
+
+    private void insertCards(Long clientId, long count, long offset) {
+        Date expiration = Date.valueOf(LocalDate.now().plusYears(1));
+        String prefix = String.format("97%04d", clientId % 10000);
+        fixtures.batchInsert("INSERT INTO cards (client_id, card_number, cvv_hash, expiration_date, credit_limit, balance, status, version) " +
+                        "VALUES (?, ?, '000', ?, 0, 100, 'ACTIVE', 0)", count,
+                i -> new Object[]{clientId, prefix + String.format("%010d", offset + i), expiration});
+    }
+}
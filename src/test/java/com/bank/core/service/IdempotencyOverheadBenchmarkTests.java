@@ -0,0 +1,59 @@
+package com.bank.core.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@EnabledIfSystemProperty(named = "bench.idempotency", matches = "true")
+class IdempotencyOverheadBenchmarkTests {
+
+    private static final int ITERATIONS = 2000;
+    private static final String SCOPE = "bench-" + UUID.randomUUID();
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key LIKE ?", SCOPE + ":%");
+    }
+
+    @Test
+    void measuresCheckOverhead() {
+        AtomicInteger executions = new AtomicInteger();
+
+        long started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            idempotencyService.execute(null, SCOPE, i, String.class, () -> "ok" + executions.incrementAndGet());
+        }
+        long withoutKey = System.nanoTime() - started;
+
+        started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            idempotencyService.execute("first-" + i, SCOPE, i, String.class, () -> "ok" + executions.incrementAndGet());
+        }
+        long firstSeen = System.nanoTime() - started;
+
+        started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            idempotencyService.execute("first-" + i, SCOPE, i, String.class, () -> "ok" + executions.incrementAndGet());
+        }
+        long replayed = System.nanoTime() - started;
+
+        System.out.printf("Idempotency bench (%d ops): no key %.1f us/op, new key %.1f us/op, replay %.1f us/op%n",
+                ITERATIONS, withoutKey / 1000.0 / ITERATIONS, firstSeen / 1000.0 / ITERATIONS, replayed / 1000.0 / ITERATIONS);
+
+        assertEquals(2 * ITERATIONS, executions.get());
+    }
+}
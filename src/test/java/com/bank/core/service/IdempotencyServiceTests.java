@@ -0,0 +1,124 @@
+package com.bank.core.service;
+
+import com.bank.core.exception.IdempotencyKeyReuseException;
+import com.bank.core.repository.IdempotencyKeyRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdempotencyServiceTests {
+
+    private final InMemoryKeys keys = new InMemoryKeys();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Test
+    void sameRequestIsAnsweredFromTheFirstResponse() {
+        IdempotencyService service = service(10);
+
+        assertEquals("ok1", pay(service, "key-1", transfer("10.00", "4000")));
+        assertEquals("ok1", pay(service, "key-1", transfer("10.00", "4000")));
+        assertEquals("ok1", pay(service(10), "key-1", transfer("10.00", "4000")));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void differentRequestUnderUsedKeyIsRejected() {
+        IdempotencyService service = service(10);
+        pay(service, "key-1", transfer("10.00", "4000"));
+
+        assertThrows(IdempotencyKeyReuseException.class, () -> pay(service, "key-1", transfer("99.00", "4000")));
+        assertThrows(IdempotencyKeyReuseException.class, () -> pay(service(10), "key-1", transfer("10.00", "5000")));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void fieldOrderDoesNotChangeTheRequest() {
+        IdempotencyService service = service(10);
+        Map<String, Object> reordered = new LinkedHashMap<>();
+        reordered.put("receiverCardNumber", "4000");
+        reordered.put("amount", new BigDecimal("10.00"));
+
+        pay(service, "key-1", transfer("10.00", "4000"));
+        assertEquals("ok1", pay(service, "key-1", reordered));
+    }
+
+    @Test
+    void expiredKeyIsNotReplayedFromMemory() {
+        pay(service(10), "key-1", transfer("10.00", "4000"));
+        keys.stored.computeIfPresent("p2p:user:key-1", (k, request) -> new IdempotencyKeyRepository.StoredRequest(
+                request.requestHash(), request.responseBody(), LocalDateTime.now().minusHours(25)));
+
+        IdempotencyService service = service(10);
+        assertEquals("ok1", pay(service, "key-1", transfer("10.00", "4000")));
+
+        service.purgeExpired();
+
+        assertEquals("ok2", pay(service, "key-1", transfer("10.00", "4000")));
+        assertEquals(2, executions.get());
+    }
+
+    private String pay(IdempotencyService service, String key, Map<String, Object> request) {
+        return service.execute(key, "p2p:user", request, String.class, () -> "ok" + executions.incrementAndGet());
+    }
+
+    private static Map<String, Object> transfer(String amount, String receiver) {
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("amount", new BigDecimal(amount));
+        request.put("receiverCardNumber", receiver);
+        return request;
+    }
+
+    private IdempotencyService service(int cacheSize) {
+        return new IdempotencyService(keys, new TransactionTemplate() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                return action.doInTransaction(null);
+            }
+        }, new ObjectMapper(), cacheSize, 24);
+    }
+
+    private static class InMemoryKeys extends IdempotencyKeyRepository {
+        final Map<String, StoredRequest> stored = new ConcurrentHashMap<>();
+
+        InMemoryKeys() {
+            super(null);
+        }
+
+        @Override
+        public void insertPlaceholder(String key, String requestHash, LocalDateTime createdAt) {
+            if (stored.putIfAbsent(key, new StoredRequest(requestHash, null, createdAt)) != null) {
+                throw new DuplicateKeyException(key);
+            }
+        }
+
+        @Override
+        public void saveResponse(String key, String responseBody) {
+            stored.computeIfPresent(key, (k, request) -> new StoredRequest(request.requestHash(), responseBody, request.createdAt()));
+        }
+
+        @Override
+        public Optional<StoredRequest> find(String key) {
+            return Optional.ofNullable(stored.get(key));
+        }
+
+        @Override
+        public int deleteOlderThan(LocalDateTime threshold) {
+            int before = stored.size();
+            stored.values().removeIf(request -> request.createdAt().isBefore(threshold));
+            return before - stored.size();
+        }
+    }
+}
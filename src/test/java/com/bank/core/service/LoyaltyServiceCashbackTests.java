@@ -0,0 +1,63 @@
+package com.bank.core.service;
+
+import com.bank.core.domain.Money;
+import com.bank.core.domain.enums.RiskClass;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LoyaltyServiceCashbackTests {
+
+    private static final int SAMPLES = 100_000;
+
+    @Test
+    void minorUnitCashbackMatchesBigDecimalFormula() {
+        Random random = new Random(7);
+        for (int i = 0; i < SAMPLES; i++) {
+            long amountMinor = random.nextLong(1, 100_000_000);
+            long rateE4 = random.nextLong(1, 2000);
+            RiskClass riskClass = RiskClass.values()[random.nextInt(RiskClass.values().length)];
+
+            BigDecimal expected = legacyCashback(BigDecimal.valueOf(amountMinor, Money.SCALE), BigDecimal.valueOf(rateE4, 4), riskClass);
+            assertEquals(expected.unscaledValue().longValueExact(),
+                    LoyaltyService.calculateCashbackMinor(amountMinor, rateE4, riskClass),
+                    amountMinor + " @ " + rateE4 + " " + riskClass);
+        }
+    }
+
+    /**
+     * mvn test -Dtest=LoyaltyServiceCashbackTests -Dbench.alloc=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "bench.alloc", matches = "true")
+    void comparesAllocationPerCalculation() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        BigDecimal amount = new BigDecimal("1234.56");
+        BigDecimal rate = new BigDecimal("0.0150");
+        long sink = 0;
+
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < SAMPLES; i++) sink += legacyCashback(amount, rate, RiskClass.HIGH).unscaledValue().longValue();
+        long legacyBytes = threads.getThreadAllocatedBytes(threadId) - before;
+
+        before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < SAMPLES; i++) sink += LoyaltyService.calculateCashbackMinor(123456, 150, RiskClass.HIGH);
+        long minorBytes = threads.getThreadAllocatedBytes(threadId) - before;
+
+        System.out.printf("Cashback alloc (%d ops): BigDecimal %.1f B/op, minor units %.1f B/op (%d)%n",
+                SAMPLES, (double) legacyBytes / SAMPLES, (double) minorBytes / SAMPLES, sink);
+    }
+
+    private static BigDecimal legacyCashback(BigDecimal amount, BigDecimal rate, RiskClass riskClass) {
+        if (riskClass == RiskClass.LOW) rate = rate.multiply(BigDecimal.valueOf(1.5));
+        else if (riskClass == RiskClass.HIGH) rate = rate.divide(BigDecimal.valueOf(2), 4, RoundingMode.HALF_UP);
+        return amount.multiply(rate).setScale(2, RoundingMode.HALF_UP);
+    }
+}
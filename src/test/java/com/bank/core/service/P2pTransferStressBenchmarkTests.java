@@ -0,0 +1,101 @@
+package com.bank.core.service;
+
+import com.bank.core.domain.Card;
+import com.bank.core.domain.Client;
+import com.bank.core.repository.CardRepository;
+import com.bank.core.repository.ClientRepository;
+import com.bank.core.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@EnabledIfSystemProperty(named = "bench.p2p", matches = "true")
+class P2pTransferStressBenchmarkTests {
+
+    private static final int TRANSFERS = 4000;
+    private static final int THREADS = 32;
+    private static final BigDecimal INITIAL_BALANCE = BigDecimal.valueOf(500);
+    private static final BigDecimal TRANSFER_AMOUNT = BigDecimal.valueOf(3);
+
+    @Autowired
+    private CardService cardService;
+    @Autowired
+    private CardRepository cardRepository;
+    @Autowired
+    private ClientRepository clientRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private BenchmarkFixtures fixtures;
+    private Card cardA;
+    private Card cardB;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new BenchmarkFixtures(userRepository, clientRepository, cardRepository, jdbcTemplate);
+        Client client = fixtures.newClient("P2P Bench");
+        cardA = fixtures.newCard(client, "9998", INITIAL_BALANCE);
+        cardB = fixtures.newCard(client, "9998", INITIAL_BALANCE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixtures.cleanup();
+    }
+
+    @Test
+    void oppositeTransfersConserveMoney() throws Exception {
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>(TRANSFERS);
+
+        long started = System.nanoTime();
+        for (int i = 0; i < TRANSFERS; i++) {
+            boolean forward = i % 2 == 0;
+            Long senderId = forward ? cardA.getId() : cardB.getId();
+            String receiverNumber = forward ? cardB.getCardNumber() : cardA.getCardNumber();
+            futures.add(pool.submit(() -> {
+                try {
+                    cardService.p2pTransfer(senderId, receiverNumber, TRANSFER_AMOUNT);
+                    completed.incrementAndGet();
+                } catch (RuntimeException e) {
+                    rejected.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> future : futures) future.get();
+        long elapsedNanos = System.nanoTime() - started;
+        pool.shutdown();
+
+        BigDecimal balanceA = cardRepository.findBalanceById(cardA.getId()).orElseThrow();
+        BigDecimal balanceB = cardRepository.findBalanceById(cardB.getId()).orElseThrow();
+
+        System.out.printf("P2P bench: %d transfers, %d threads, %d completed, %d rejected, %.1f transfers/s%n",
+                TRANSFERS, THREADS, completed.get(), rejected.get(), TRANSFERS / (elapsedNanos / 1_000_000_000.0));
+
+        assertTrue(balanceA.signum() >= 0 && balanceB.signum() >= 0, "Баланс карты ушел в минус");
+        assertEquals(0, INITIAL_BALANCE.multiply(BigDecimal.valueOf(2)).compareTo(balanceA.add(balanceB)));
+        Integer ledgerRows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transactions WHERE card_id IN (?, ?)", Integer.class, cardA.getId(), cardB.getId());
+        assertEquals(2 * completed.get(), ledgerRows);
+    }
+}
@@ -0,0 +1,107 @@
+package com.bank.core.service;
+
+import com.bank.core.exception.ServiceBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingServiceTests {
+
+    private final List<PasswordHashingService> services = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(PasswordHashingService::shutdown);
+    }
+
+    @Test
+    void detectsWorkFactorChange() {
+        PasswordHashingService weak = newService(4, 1, 10);
+        PasswordHashingService strong = newService(6, 1, 10);
+        String hash = weak.encode("secret123");
+
+        assertTrue(strong.matches("secret123", hash));
+        assertFalse(weak.needsRehash(hash));
+        assertTrue(strong.needsRehash(hash));
+        assertTrue(strong.needsRehash("plain-text"));
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() throws Exception {
+        PasswordHashingService service = newService(12, 1, 1);
+        int callers = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        for (int i = 0; i < callers; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                try {
+                    service.encode("secret123");
+                    return true;
+                } catch (ServiceBusyException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int rejected = 0;
+        for (Future<Boolean> result : results) if (!result.get()) rejected++;
+        pool.shutdown();
+
+        assertTrue(rejected > 0);
+        assertEquals((long) rejected, service.getStats().get("rejected"));
+    }
+
+    @Test
+    void waitingCallerIsTurnedAwayAfterAdmissionTimeout() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        PasswordHashingService service = new PasswordHashingService(blocking, 4, 1, 10, 100, 30_000);
+        services.add(service);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        Future<String> first = pool.submit(() -> service.encode("secret123"));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        long started = System.nanoTime();
+        assertThrows(ServiceBusyException.class, () -> service.matches("secret123", "$2a$04$invalid"));
+        assertTrue(System.nanoTime() - started < 5_000_000_000L);
+        assertEquals(0, service.getStats().get("queued"));
+
+        release.countDown();
+        assertNotNull(first.get());
+        pool.shutdown();
+        assertEquals(1L, service.getStats().get("timedOut"));
+    }
+
+    private PasswordHashingService newService(int strength, int workers, int queueCapacity) {
+        PasswordHashingService service = new PasswordHashingService(new BCryptPasswordEncoder(strength), strength, workers, queueCapacity, 30_000, 30_000);
+        services.add(service);
+        return service;
+    }
+}
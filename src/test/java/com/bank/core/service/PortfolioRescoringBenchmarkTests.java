@@ -0,0 +1,110 @@
+package com.bank.core.service;
+
+import com.bank.core.domain.Client;
+import com.bank.core.dto.ApplicationRequestDTO;
+import com.bank.core.dto.ScoringResultDTO;
+import com.bank.core.repository.CardRepository;
+import com.bank.core.repository.ClientRepository;
+import com.bank.core.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * mvn test -Dtest=PortfolioRescoringBenchmarkTests -Dbench.rescoring=true [-Dbench.rescoring.clients=100000]
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "bench.rescoring", matches = "true")
+class PortfolioRescoringBenchmarkTests {
+
+    private static final int SEQUENTIAL_SAMPLE = 1000;
+    private static final String PREFIX = "rescore-" + UUID.randomUUID() + "-";
+
+    @Value("${bench.rescoring.clients:100000}")
+    private int clients;
+
+    @Autowired
+    private PortfolioRescoringService rescoringService;
+    @Autowired
+    private ScoringService scoringService;
+    @Autowired
+    private CardRepository cardRepository;
+    @Autowired
+    private ClientRepository clientRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        BenchmarkFixtures fixtures = new BenchmarkFixtures(userRepository, clientRepository, cardRepository, jdbcTemplate);
+        fixtures.batchInsert("INSERT INTO users (username, password, role, enabled) VALUES (?, '-', 'CLIENT', true)", clients,
+                i -> new Object[]{PREFIX + i});
+        jdbcTemplate.update("""
+                INSERT INTO clients (user_id, full_name, passport, monthly_income, birth_date, employment_start_date,
+                                     marital_status, credit_history_score, risk_class)
+                SELECT id, 'Rescoring Bench', username, 500 + MOD(id, 40) * 100,
+                       DATE_SUB(?, INTERVAL 20 + MOD(id, 40) YEAR), DATE_SUB(?, INTERVAL MOD(id, 60) MONTH),
+                       IF(MOD(id, 2) = 0, 'MARRIED', 'SINGLE'), 0, 'NONE'
+                FROM users WHERE username LIKE ?""",
+                Date.valueOf(LocalDate.now()), Date.valueOf(LocalDate.now()), PREFIX + "%");
+        jdbcTemplate.update("""
+                INSERT INTO loans (client_id, principal_amount, total_amount_to_repay, remaining_debt, monthly_payment, status)
+                SELECT c.id, 5000, 6000, 6000, 100 + MOD(c.id, 20) * 50, 'ACTIVE'
+                FROM clients c JOIN users u ON u.id = c.user_id
+                WHERE u.username LIKE ? AND MOD(c.id, 3) = 0""", PREFIX + "%");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE l FROM loans l JOIN clients c ON c.id = l.client_id JOIN users u ON u.id = c.user_id WHERE u.username LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE c FROM clients c JOIN users u ON u.id = c.user_id WHERE u.username LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE ?", PREFIX + "%");
+    }
+
+    @Test
+    void rescoresPortfolioWithSameResultsAsSingleClientScoring() throws Exception {
+        List<Long> sample = jdbcTemplate.queryForList(
+                "SELECT c.id FROM clients c JOIN users u ON u.id = c.user_id WHERE u.username LIKE ? ORDER BY c.id LIMIT " + SEQUENTIAL_SAMPLE,
+                Long.class, PREFIX + "%");
+
+        long started = System.nanoTime();
+        for (Long id : sample) {
+            Client client = clientRepository.findById(id).orElseThrow();
+            scoringService.calculate(new ApplicationRequestDTO(), client);
+        }
+        double sequentialPerSecond = sample.size() / ((System.nanoTime() - started) / 1_000_000_000.0);
+
+        rescoringService.start();
+        Map<String, Object> status;
+        do {
+            Thread.sleep(200);
+            status = rescoringService.getStatus();
+        } while ("RUNNING".equals(String.valueOf(status.get("status"))));
+
+        System.out.printf("Rescoring bench: %,d clients, per-client path %.0f clients/s, batch run %s clients/s, %s changed%n",
+                clients, sequentialPerSecond, status.get("clientsPerSecond"), status.get("changed"));
+        assertEquals("COMPLETED", String.valueOf(status.get("status")));
+
+        for (Long id : sample) {
+            Client client = clientRepository.findById(id).orElseThrow();
+            ScoringResultDTO expected = scoringService.calculate(new ApplicationRequestDTO(), client);
+            assertEquals(expected.getScore(), client.getCreditHistoryScore());
+            assertEquals(expected.getRiskClass(), client.getRiskClass());
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.bank.core.service;
+
+import com.bank.core.domain.Money;
+import com.bank.core.domain.enums.RiskClass;
+import com.bank.core.dto.ScorecardDefinition;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ScorecardParityTests {
+
+    private static final int SAMPLES = 200_000;
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 31);
+    private static final String[] MARITAL = {null, "MARRIED", "married", "SINGLE", "DIVORCED"};
+
+    private final CompiledScorecard scorecard = CompiledScorecard.compile(1, ScorecardDefinition.defaults());
+
+    @Test
+    void defaultScorecardMatchesHardCodedRules() {
+        Random random = new Random(11);
+        for (int i = 0; i < SAMPLES; i++) {
+            Input in = randomInput(random);
+            assertEquals(legacyScore(in), score(scorecard, in), in.toString());
+        }
+    }
+
+    @Test
+    void matchesAtEveryThreshold() {
+        long bpm = 40_000;
+        long[] incomes = {0, bpm * 3 / 2 - 1, bpm * 3 / 2, bpm * 3 / 2 + 1, bpm * 3 - 1, bpm * 3, bpm * 3 + 1};
+        LocalDate[] employment = {null, TODAY, TODAY.plusDays(1), TODAY.minusMonths(12).plusDays(1), TODAY.minusMonths(12),
+                TODAY.minusMonths(36).plusDays(1), TODAY.minusMonths(36)};
+        LocalDate[] birthDates = {TODAY.minusYears(30).plusDays(1), TODAY.minusYears(30), TODAY.minusYears(55),
+                TODAY.minusYears(56).plusDays(1), TODAY.minusYears(56), LocalDate.of(1996, 2, 29)};
+        long[] ptiPayments = {0, 4_000, 4_001, 4_049, 4_050, 6_000, 6_049, 6_050};
+
+        for (long income : incomes) {
+            for (LocalDate start : employment) {
+                for (LocalDate birth : birthDates) {
+                    for (long payments : ptiPayments) {
+                        for (int loans = 0; loans <= 1; loans++) {
+                            // payments are scaled to a 10 000.00 income so the PTI edges land on 40/41 and 60/61 percent
+                            Input in = new Input(income == 0 ? 0 : 1_000_000, start, "MARRIED", birth, false, loans,
+                                    payments * 100, income == 0 ? bpm : income);
+                            assertEquals(legacyScore(in), score(scorecard, in), in.toString());
+                            Input plain = new Input(income, start, null, birth, true, loans, payments, bpm);
+                            assertEquals(legacyScore(plain), score(scorecard, plain), plain.toString());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void riskBandsMatchHardCodedThresholds() {
+        for (int score = -300; score <= 300; score++) {
+            assertEquals(legacyRiskClass(score), scorecard.riskClassFor(score), "score " + score);
+        }
+    }
+
+    @Test
+    void storedDefinitionCompilesToSameScorecard() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ScorecardDefinition stored = objectMapper.readValue(
+                objectMapper.writeValueAsString(ScorecardDefinition.defaults()), ScorecardDefinition.class);
+        CompiledScorecard reloaded = CompiledScorecard.compile(2, stored);
+
+        Random random = new Random(5);
+        for (int i = 0; i < SAMPLES / 10; i++) {
+            Input in = randomInput(random);
+            assertEquals(score(scorecard, in), score(reloaded, in));
+        }
+    }
+
+    @Test
+    void bandOrderInDefinitionDoesNotMatter() {
+        ScorecardDefinition defaults = ScorecardDefinition.defaults();
+        ScorecardDefinition shuffled = new ScorecardDefinition(
+                reversed(defaults.income()), defaults.incomeOtherwisePoints(),
+                reversed(defaults.experienceMonths()), defaults.experienceOtherwisePoints(),
+                defaults.delinquencyPoints(), defaults.noDelinquencyPoints(), defaults.activeLoansPoints(),
+                reversed(defaults.ptiPercent()), defaults.age(), defaults.maritalStatus(),
+                reversed(defaults.decisions()), defaults.declineMessage());
+        CompiledScorecard compiled = CompiledScorecard.compile(3, shuffled);
+
+        Random random = new Random(3);
+        for (int i = 0; i < SAMPLES / 10; i++) {
+            Input in = randomInput(random);
+            int expected = score(scorecard, in);
+            assertEquals(expected, score(compiled, in));
+            assertEquals(scorecard.riskClassFor(expected), compiled.riskClassFor(expected));
+        }
+    }
+
+    @Test
+    void rejectsDefinitionWithoutDecisions() {
+        ScorecardDefinition defaults = ScorecardDefinition.defaults();
+        ScorecardDefinition invalid = new ScorecardDefinition(defaults.income(), 0, List.of(), 0, 0, 0, 0,
+                List.of(), List.of(), Map.of(), List.of(), null);
+        assertThrows(RuntimeException.class, () -> CompiledScorecard.compile(4, invalid));
+    }
+
+    /**
+     * mvn test -Dtest=ScorecardParityTests -Dbench.scorecard=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "bench.scorecard", matches = "true")
+    void comparesEvaluationCost() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        Random random = new Random(1);
+        Input[] inputs = new Input[4096];
+        for (int i = 0; i < inputs.length; i++) inputs[i] = randomInput(random);
+        int iterations = 5_000_000;
+        long sink = 0;
+
+        for (int warmup = 0; warmup < 3; warmup++) {
+            for (int i = 0; i < iterations; i++) sink += legacyScore(inputs[i & 4095]) + score(scorecard, inputs[i & 4095]);
+        }
+
+        long bytes = threads.getThreadAllocatedBytes(threadId);
+        long started = System.nanoTime();
+        for (int i = 0; i < iterations; i++) sink += legacyScore(inputs[i & 4095]);
+        long legacyNanos = System.nanoTime() - started;
+        long legacyBytes = threads.getThreadAllocatedBytes(threadId) - bytes;
+
+        bytes = threads.getThreadAllocatedBytes(threadId);
+        started = System.nanoTime();
+        for (int i = 0; i < iterations; i++) sink += score(scorecard, inputs[i & 4095]);
+        long compiledNanos = System.nanoTime() - started;
+        long compiledBytes = threads.getThreadAllocatedBytes(threadId) - bytes;
+
+        System.out.printf("Scorecard bench (%d ops): hard-coded %.1f ns/op %.1f B/op, compiled %.1f ns/op %.1f B/op (%d)%n",
+                iterations, (double) legacyNanos / iterations, (double) legacyBytes / iterations,
+                (double) compiledNanos / iterations, (double) compiledBytes / iterations, sink);
+    }
+
+    private static <T> List<T> reversed(List<T> items) {
+        List<T> copy = new ArrayList<>(items);
+        Collections.reverse(copy);
+        return copy;
+    }
+
+    private static int score(CompiledScorecard scorecard, Input in) {
+        return scorecard.score(in.incomeMinor, in.employmentStart, in.maritalStatus, in.birthDate, in.delinquency,
+                in.activeLoans, in.paymentsMinor, in.bpmMinor, TODAY);
+    }
+
+    private static Input randomInput(Random random) {
+        long bpm = random.nextLong(10_000, 200_000);
+        long income = random.nextInt(10) == 0 ? 0 : random.nextLong(0, bpm * 6);
+        LocalDate employment = random.nextInt(5) == 0 ? null : TODAY.minusDays(random.nextInt(-60, 6000));
+        LocalDate birth = TODAY.minusDays(random.nextInt(18 * 365, 80 * 365));
+        int loans = random.nextInt(4);
+        long payments = loans == 0 ? 0 : random.nextLong(0, Math.max(1, income + 1));
+        return new Input(income, employment, MARITAL[random.nextInt(MARITAL.length)], birth, random.nextBoolean(),
+                loans, payments, bpm);
+    }
+
+    /**
+     * The rules exactly as they were hard-coded in ScoringService before the scorecard was introduced.
+     */
+    private static int legacyScore(Input in) {
+        int score = 0;
+
+        if (in.incomeMinor > in.bpmMinor * 3) score += 35;
+        else if (in.incomeMinor * 2 >= in.bpmMinor * 3) score += 15;
+        else score += 5;
+
+        double yearsExp = 0.0;
+        if (in.employmentStart != null) {
+            long months = ChronoUnit.MONTHS.between(in.employmentStart, TODAY);
+            yearsExp = Math.max(0, months / 12.0);
+        }
+
+        if (yearsExp >= 3.0) score += 20;
+        else if (yearsExp >= 1.0) score += 10;
+
+        if (in.delinquency) score -= 60;
+        else score += 30;
+
+        if (in.activeLoans > 0) {
+            score -= 10;
+            long ptiPercent = 0;
+            if (in.incomeMinor > 0) {
+                ptiPercent = Money.multiplyFraction(in.paymentsMinor, 100, in.incomeMinor, RoundingMode.HALF_UP);
+            }
+            if (ptiPercent > 40) score -= 30;
+            if (ptiPercent > 60) score -= 50;
+        }
+
+        if ("MARRIED".equalsIgnoreCase(in.maritalStatus)) score += 10;
+
+        int age = Period.between(in.birthDate, TODAY).getYears();
+        if (age >= 30 && age <= 55) score += 5;
+
+        return score;
+    }
+
+    private static RiskClass legacyRiskClass(int score) {
+        if (score >= 75) return RiskClass.LOW;
+        if (score >= 40) return RiskClass.MIDDLE;
+        if (score >= 10) return RiskClass.HIGH;
+        return RiskClass.NONE;
+    }
+
+    private record Input(long incomeMinor, LocalDate employmentStart, String maritalStatus, LocalDate birthDate,
+                         boolean delinquency, long activeLoans, long paymentsMinor, long bpmMinor) {
+    }
+}
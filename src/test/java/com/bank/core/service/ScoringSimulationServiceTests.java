@@ -0,0 +1,145 @@
+package com.bank.core.service;
+
+import com.bank.core.domain.Money;
+import com.bank.core.domain.enums.RiskClass;
+import com.bank.core.domain.enums.SystemParameterKey;
+import com.bank.core.dto.ScorecardDefinition;
+import com.bank.core.dto.ScoringSimulationRequestDTO;
+import com.bank.core.dto.ScoringSimulationResultDTO;
+import com.bank.core.repository.ScoringFeatureJdbcRepository;
+import com.bank.core.repository.ScoringFeatureJdbcRepository.FeatureRow;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScoringSimulationServiceTests {
+
+    private static final int CLIENTS = 50_000;
+    private static final BigDecimal BPM = new BigDecimal("400");
+    private static final String[] MARITAL = {null, "MARRIED", "SINGLE", "married"};
+
+    private final CompiledScorecard scorecard = CompiledScorecard.compile(1, ScorecardDefinition.defaults());
+    private final List<FeatureRow> rows = randomRows(new Random(17));
+    private final ScoringSimulationService service = new ScoringSimulationService(
+            new StubFeatureRepository(rows), new FixedParameterRegistry(), new FixedScorecardRegistry(scorecard), 60_000);
+
+    @Test
+    void unchangedParametersKeepEveryClientInPlace() {
+        ScoringSimulationResultDTO result = service.simulate(new ScoringSimulationRequestDTO(), false);
+
+        assertEquals(CLIENTS, result.getClients());
+        assertEquals(0, result.getClientsChangingClass());
+        assertEquals(result.getBaselineDistribution(), result.getCandidateDistribution());
+        assertEquals(result.getBaselineMaxLimitTotal(), result.getCandidateMaxLimitTotal());
+        for (RiskClass from : RiskClass.values()) {
+            for (RiskClass to : RiskClass.values()) {
+                if (from != to) assertEquals(0L, result.getTransitions().get(from).get(to));
+            }
+        }
+    }
+
+    @Test
+    void columnarRunMatchesRowByRowScoring() {
+        ScoringSimulationRequestDTO request = new ScoringSimulationRequestDTO();
+        request.setBpm(new BigDecimal("650"));
+        ScoringSimulationResultDTO result = service.simulate(request, false);
+
+        LocalDate today = LocalDate.now();
+        long baselineBpm = Money.toMinor(BPM, RoundingMode.HALF_UP);
+        long candidateBpm = Money.toMinor(request.getBpm(), RoundingMode.HALF_UP);
+        Map<RiskClass, Long> expected = new EnumMap<>(RiskClass.class);
+        long changing = 0;
+        long candidateLimit = 0;
+        for (FeatureRow row : rows) {
+            int before = scorecard.score(row.incomeMinor(), row.employmentStartDate(), row.maritalStatus(), row.birthDate(),
+                    false, row.activeLoans(), row.monthlyPaymentsMinor(), baselineBpm, today);
+            int after = scorecard.score(row.incomeMinor(), row.employmentStartDate(), row.maritalStatus(), row.birthDate(),
+                    false, row.activeLoans(), row.monthlyPaymentsMinor(), candidateBpm, today);
+            expected.merge(scorecard.riskClassFor(after), 1L, Long::sum);
+            if (scorecard.riskClassFor(before) != scorecard.riskClassFor(after)) changing++;
+            candidateLimit += scorecard.maxLimitMinor(after);
+        }
+
+        for (RiskClass riskClass : RiskClass.values()) {
+            assertEquals(expected.getOrDefault(riskClass, 0L), result.getCandidateDistribution().get(riskClass), riskClass.name());
+        }
+        assertEquals(changing, result.getClientsChangingClass());
+        assertEquals(Money.ofMinor(candidateLimit).toBigDecimal(), result.getCandidateMaxLimitTotal());
+        assertTrue(changing > 0);
+    }
+
+    @Test
+    void histogramsCoverEveryClient() {
+        ScoringSimulationResultDTO result = service.simulate(new ScoringSimulationRequestDTO(), false);
+
+        long baseline = result.getScoreHistogram().stream().mapToLong(ScoringSimulationResultDTO.ScoreBucket::getBaseline).sum();
+        long candidate = result.getScoreHistogram().stream().mapToLong(ScoringSimulationResultDTO.ScoreBucket::getCandidate).sum();
+        assertEquals(CLIENTS, baseline);
+        assertEquals(CLIENTS, candidate);
+    }
+
+    private static List<FeatureRow> randomRows(Random random) {
+        LocalDate today = LocalDate.now();
+        List<FeatureRow> rows = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            long income = random.nextLong(0, 400_000);
+            int loans = random.nextInt(3);
+            rows.add(new FeatureRow(i + 1, income,
+                    today.minusDays(random.nextInt(18 * 365, 75 * 365)),
+                    random.nextInt(4) == 0 ? null : today.minusDays(random.nextInt(0, 5000)),
+                    MARITAL[random.nextInt(MARITAL.length)], 0, RiskClass.NONE,
+                    loans, loans == 0 ? 0 : random.nextLong(0, income + 1)));
+        }
+        return rows;
+    }
+
+    private static class StubFeatureRepository extends ScoringFeatureJdbcRepository {
+        private final List<FeatureRow> rows;
+
+        StubFeatureRepository(List<FeatureRow> rows) {
+            super(null);
+            this.rows = rows;
+        }
+
+        @Override
+        public void forEachFeatureRow(Consumer<FeatureRow> consumer) {
+            rows.forEach(consumer);
+        }
+    }
+
+    private static class FixedParameterRegistry extends SystemParameterRegistry {
+        FixedParameterRegistry() {
+            super(null);
+        }
+
+        @Override
+        public Snapshot current() {
+            return new Snapshot(1, Map.of(SystemParameterKey.BPM, BPM));
+        }
+    }
+
+    private static class FixedScorecardRegistry extends ScorecardRegistry {
+        private final CompiledScorecard scorecard;
+
+        FixedScorecardRegistry(CompiledScorecard scorecard) {
+            super(null, null);
+            this.scorecard = scorecard;
+        }
+
+        @Override
+        public CompiledScorecard current() {
+            return scorecard;
+        }
+    }
+}
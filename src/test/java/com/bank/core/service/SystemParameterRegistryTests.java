@@ -0,0 +1,52 @@
+package com.bank.core.service;
+
+import com.bank.core.domain.SystemParameter;
+import com.bank.core.domain.enums.SystemParameterKey;
+import com.bank.core.repository.SystemParameterRepository;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SystemParameterRegistryTests {
+
+    private final List<SystemParameter> rows = new ArrayList<>();
+    private final SystemParameterRegistry registry = new SystemParameterRegistry(repository(rows));
+
+    @Test
+    void deletedParameterFallsBackToDefault() {
+        rows.add(new SystemParameter("BPM", "500", null));
+        assertEquals(new BigDecimal("500"), registry.getDecimal(SystemParameterKey.BPM));
+
+        rows.clear();
+        registry.refresh();
+
+        assertEquals(new BigDecimal(SystemParameterKey.BPM.getDefaultValue()), registry.getDecimal(SystemParameterKey.BPM));
+        assertEquals(2, registry.getVersion());
+    }
+
+    @Test
+    void invalidStoredValueKeepsThePreviousOne() {
+        rows.add(new SystemParameter("BPM", "500", null));
+        assertEquals(new BigDecimal("500"), registry.getDecimal(SystemParameterKey.BPM));
+
+        rows.set(0, new SystemParameter("BPM", "abc", null));
+        registry.refresh();
+
+        assertEquals(new BigDecimal("500"), registry.getDecimal(SystemParameterKey.BPM));
+        assertEquals(50000, registry.getMinorUnits(SystemParameterKey.BPM));
+        assertEquals(1, registry.getVersion());
+    }
+
+    private static SystemParameterRepository repository(List<SystemParameter> rows) {
+        return (SystemParameterRepository) Proxy.newProxyInstance(SystemParameterRepository.class.getClassLoader(),
+                new Class<?>[]{SystemParameterRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findAll" -> List.copyOf(rows);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
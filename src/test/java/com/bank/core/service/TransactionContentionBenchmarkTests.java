@@ -0,0 +1,102 @@
+package com.bank.core.service;
+
+import com.bank.core.domain.Client;
+import com.bank.core.dto.TransactionRequestDTO;
+import com.bank.core.dto.TransactionResponseDTO;
+import com.bank.core.repository.CardRepository;
+import com.bank.core.repository.ClientRepository;
+import com.bank.core.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@EnabledIfSystemProperty(named = "bench.contention", matches = "true")
+class TransactionContentionBenchmarkTests {
+
+    private static final int CARDS = 4;
+    private static final int DEBITS = 4000;
+    private static final int THREADS = 32;
+    private static final BigDecimal INITIAL_BALANCE = BigDecimal.valueOf(800);
+    private static final BigDecimal DEBIT_AMOUNT = BigDecimal.ONE;
+
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private CardRepository cardRepository;
+    @Autowired
+    private ClientRepository clientRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private BenchmarkFixtures fixtures;
+    private final List<Long> cardIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new BenchmarkFixtures(userRepository, clientRepository, cardRepository, jdbcTemplate);
+        Client client = fixtures.newClient("Contention Bench");
+        for (int i = 0; i < CARDS; i++) {
+            cardIds.add(fixtures.newCard(client, "9999", INITIAL_BALANCE).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixtures.cleanup();
+    }
+
+    @Test
+    void parallelDebitsNeverLoseUpdates() throws Exception {
+        AtomicInteger completed = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>(DEBITS);
+
+        long started = System.nanoTime();
+        for (int i = 0; i < DEBITS; i++) {
+            Long cardId = cardIds.get(i % CARDS);
+            futures.add(pool.submit(() -> {
+                TransactionRequestDTO request = new TransactionRequestDTO();
+                request.setCardId(cardId);
+                request.setAmount(DEBIT_AMOUNT);
+                request.setMccCode("0000");
+                TransactionResponseDTO response = transactionService.processTransaction(request);
+                if ("COMPLETED".equals(response.getStatus())) completed.incrementAndGet();
+            }));
+        }
+        for (Future<?> future : futures) future.get();
+        long elapsedNanos = System.nanoTime() - started;
+        pool.shutdown();
+
+        BigDecimal expectedTotal = INITIAL_BALANCE.multiply(BigDecimal.valueOf(CARDS))
+                .subtract(DEBIT_AMOUNT.multiply(BigDecimal.valueOf(completed.get())));
+        BigDecimal actualTotal = BigDecimal.ZERO;
+        for (Long cardId : cardIds) {
+            BigDecimal balance = cardRepository.findBalanceById(cardId).orElseThrow();
+            assertTrue(balance.signum() >= 0, "Баланс карты ушел в минус");
+            actualTotal = actualTotal.add(balance);
+        }
+
+        System.out.printf("Contention bench: %d debits on %d cards, %d threads, %d completed, %.1f tx/s%n",
+                DEBITS, CARDS, THREADS, completed.get(), DEBITS / (elapsedNanos / 1_000_000_000.0));
+
+        assertEquals(0, expectedTotal.compareTo(actualTotal));
+    }
+}
@@ -0,0 +1,108 @@
+package com.bank.core.service;
+
+import com.bank.core.domain.Card;
+import com.bank.core.domain.Money;
+import com.bank.core.domain.Transaction;
+import com.bank.core.domain.enums.CardStatus;
+import com.bank.core.dto.TransactionRequestDTO;
+import com.bank.core.dto.TransactionResponseDTO;
+import com.bank.core.repository.CardRepository;
+import com.bank.core.repository.LoyaltyRuleRepository;
+import com.bank.core.repository.TransactionJdbcRepository;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionServiceBatchTests {
+
+    private final Card card = card(1L, "10.00");
+    private final RecordingJdbcRepository jdbcRepository = new RecordingJdbcRepository();
+    private final TransactionService service = new TransactionService(cardRepository(card), null, jdbcRepository,
+            null, new LoyaltyRuleIndex(loyaltyRuleRepository()), event -> { });
+
+    @Test
+    void rejectsAmountsFinerThanMinorUnits() {
+        List<TransactionResponseDTO> responses = service.processBatch(List.of(
+                request(1L, "0.004"), request(1L, "9.995"), request(1L, "10.000")));
+
+        assertEquals("FAILED", responses.get(0).getStatus());
+        assertEquals("Некорректные параметры транзакции", responses.get(0).getMessage());
+        assertEquals("FAILED", responses.get(1).getStatus());
+        assertEquals("Некорректные параметры транзакции", responses.get(1).getMessage());
+        assertEquals("COMPLETED", responses.get(2).getStatus());
+        assertEquals(new BigDecimal("0.00"), responses.get(2).getCurrentBalance());
+
+        assertEquals(1, jdbcRepository.inserted.size());
+        assertEquals(new BigDecimal("10.00"), jdbcRepository.inserted.get(0).getAmount());
+        assertEquals(Map.of(1L, Money.ZERO), jdbcRepository.balances);
+    }
+
+    @Test
+    void declinesAmountAboveBalanceByOneMinorUnit() {
+        List<TransactionResponseDTO> responses = service.processBatch(List.of(request(1L, "10.01")));
+
+        assertEquals("FAILED", responses.get(0).getStatus());
+        assertEquals("Недостаточно средств", responses.get(0).getMessage());
+        assertEquals(new BigDecimal("10.00"), responses.get(0).getCurrentBalance());
+        assertTrue(jdbcRepository.inserted.isEmpty());
+    }
+
+    private static TransactionRequestDTO request(Long cardId, String amount) {
+        TransactionRequestDTO request = new TransactionRequestDTO();
+        request.setCardId(cardId);
+        request.setAmount(new BigDecimal(amount));
+        request.setMccCode("5411");
+        return request;
+    }
+
+    private static Card card(Long id, String balance) {
+        Card card = new Card();
+        card.setId(id);
+        card.setStatus(CardStatus.ACTIVE);
+        card.setBalance(new BigDecimal(balance));
+        return card;
+    }
+
+    private static CardRepository cardRepository(Card card) {
+        return (CardRepository) Proxy.newProxyInstance(CardRepository.class.getClassLoader(),
+                new Class<?>[]{CardRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findAllByIdForUpdate" -> ((Collection<?>) args[0]).contains(card.getId()) ? List.of(card) : List.of();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static LoyaltyRuleRepository loyaltyRuleRepository() {
+        return (LoyaltyRuleRepository) Proxy.newProxyInstance(LoyaltyRuleRepository.class.getClassLoader(),
+                new Class<?>[]{LoyaltyRuleRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findAll" -> List.of();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static class RecordingJdbcRepository extends TransactionJdbcRepository {
+        final List<Transaction> inserted = new ArrayList<>();
+        final Map<Long, Money> balances = new HashMap<>();
+
+        RecordingJdbcRepository() {
+            super(null);
+        }
+
+        @Override
+        public void insertAll(List<Transaction> transactions) {
+            inserted.addAll(transactions);
+        }
+
+        @Override
+        public void insertLoyaltyEvents(List<Transaction> transactions) {
+        }
+
+        @Override
+        public void updateBalances(Map<Long, Money> balances) {
+            this.balances.putAll(balances);
+        }
+    }
+}
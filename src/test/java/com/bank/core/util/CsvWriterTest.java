@@ -0,0 +1,21 @@
+package com.bank.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CsvWriterTest {
+
+    @Test
+    void quotesOnlyWhenNeeded() throws Exception {
+        StringWriter out = new StringWriter();
+        CsvWriter csv = new CsvWriter(out);
+
+        csv.row(1, "plain", null, "a;b", "say \"hi\"", "two\nlines");
+        csv.flush();
+
+        assertEquals("1;plain;;\"a;b\";\"say \"\"hi\"\"\";\"two\nlines\"\r\n", out.toString());
+    }
+}